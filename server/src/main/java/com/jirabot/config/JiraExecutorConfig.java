@@ -0,0 +1,95 @@
+package com.jirabot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class JiraExecutorConfig {
+
+    @Value("${app.jira.bulk.executor-threads:16}")
+    private int bulkExecutorThreads;
+
+    @Value("${app.jira.bulk.executor-queue-capacity:32}")
+    private int bulkExecutorQueueCapacity;
+
+    @Value("${app.jira.bulk.jobs.max-running:2}")
+    private int maxRunningImportJobs;
+
+    @Value("${app.jira.bulk.jobs.max-queued:20}")
+    private int maxQueuedImportJobs;
+
+    @Value("${app.jira.outbox.workers:4}")
+    private int outboxWorkers;
+
+    /**
+     * Dedicated pool for concurrent bulk issue creation, so bulk uploads do not
+     * run on (or exhaust) Tomcat request threads. Per-domain parallelism is
+     * enforced by JiraService on top of this pool. At most
+     * {@code app.jira.bulk.executor-queue-capacity} creators wait for a
+     * thread; an upload that cannot get any creator is rejected.
+     */
+    @Bean(name = "jiraBulkExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService jiraBulkExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                bulkExecutorThreads,
+                bulkExecutorThreads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, bulkExecutorQueueCapacity)),
+                namedDaemonThreads("jira-bulk-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Runs asynchronous bulk import jobs. Only a few imports run at once and
+     * at most {@code app.jira.bulk.jobs.max-queued} wait for a slot; further
+     * submissions are rejected instead of piling up.
+     */
+    @Bean(name = "bulkImportExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService bulkImportExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                maxRunningImportJobs,
+                maxRunningImportJobs,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, maxQueuedImportJobs)),
+                namedDaemonThreads("bulk-import-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Sends queued JIRA writes from the outbox. The worker only claims one
+     * batch at a time, so the queue never holds more than a batch.
+     */
+    @Bean(name = "jiraOutboxExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService jiraOutboxExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                outboxWorkers,
+                outboxWorkers,
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                namedDaemonThreads("jira-outbox-"));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package com.jirabot.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class PasswordHashingConfig {
+
+    @Value("${app.auth.password-hashing.threads:0}")
+    private int hashingThreads;
+
+    @Value("${app.auth.password-hashing.queue-capacity:32}")
+    private int queueCapacity;
+
+    /**
+     * Runs BCrypt for signup and login, so a burst of logins uses at most this
+     * many cores instead of every request thread. At most
+     * {@code app.auth.password-hashing.queue-capacity} hashes wait for a
+     * thread; further ones are rejected and answered with 503. Queue depth and
+     * activity are published as the {@code password-hashing} executor.
+     */
+    @Bean(name = "passwordHashingExecutor", destroyMethod = "shutdownNow")
+    public ExecutorService passwordHashingExecutor(MeterRegistry meterRegistry) {
+        // Half the cores by default, leaving the rest for the JIRA-facing endpoints
+        int threads = hashingThreads > 0 ? hashingThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                JiraExecutorConfig.namedDaemonThreads("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(executor, "password-hashing", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+}
@@ -1,14 +1,104 @@
 package com.jirabot.config;
 
+import com.jirabot.service.JiraCallMetrics;
+import com.jirabot.service.JiraRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.pool.PoolConcurrencyPolicy;
+import org.apache.hc.core5.pool.PoolReusePolicy;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class RestTemplateConfig {
 
+    @Value("${app.jira.http.max-total-connections:100}")
+    private int maxTotalConnections;
+
+    @Value("${app.jira.http.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+
+    @Value("${app.jira.http.connect-timeout-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${app.jira.http.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    @Value("${app.jira.http.pool-acquire-timeout-ms:10000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${app.jira.http.connection-ttl-ms:300000}")
+    private long connectionTtlMs;
+
+    @Value("${app.jira.http.idle-eviction-ms:30000}")
+    private long idleEvictionMs;
+
+    @Value("${app.jira.http.validate-after-inactivity-ms:2000}")
+    private long validateAfterInactivityMs;
+
+    /**
+     * Shared connection pool for all JIRA API calls. Connections to
+     * {@code <domain>.atlassian.net} are kept alive and reused (LIFO) so that
+     * bulk operations do not pay a TLS handshake per request.
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager jiraConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotalConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setPoolConcurrencyPolicy(PoolConcurrencyPolicy.STRICT)
+                .setConnPoolPolicy(PoolReusePolicy.LIFO)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMilliseconds(connectionTtlMs))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMs))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient jiraHttpClient(PoolingHttpClientConnectionManager jiraConnectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(jiraConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMs))
+                .build();
+    }
+
+    @Bean
+    public RestTemplate restTemplate(CloseableHttpClient jiraHttpClient, JiraRateLimiter jiraRateLimiter,
+            JiraCallMetrics jiraCallMetrics) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(jiraHttpClient));
+        // Every JIRA call waits for a rate limit permit and is retried on 429/503; the metrics run inside the
+        // limiter, so each attempt (retries included) is timed without the permit wait
+        restTemplate.getInterceptors().add(jiraRateLimiter.retrying(jiraCallMetrics));
+        return restTemplate;
+    }
+
+    /**
+     * Publishes pool statistics (leased, available, pending, max) under
+     * {@code httpcomponents.httpclient.pool.*} in /actuator/metrics.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public MeterBinder jiraConnectionPoolMetrics(PoolingHttpClientConnectionManager jiraConnectionManager) {
+        return (MeterRegistry registry) -> new PoolingHttpClientConnectionManagerMetricsBinder(
+                jiraConnectionManager, "jira").bindTo(registry);
     }
 }
@@ -0,0 +1,15 @@
+package com.jirabot.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled background tasks, such as draining the JIRA write
+ * outbox. They run on Spring Boot's scheduler pool, sized with
+ * {@code spring.task.scheduling.pool.size}, so a drain waiting on a slow
+ * JIRA does not hold up the revocation sync or the activity flush.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
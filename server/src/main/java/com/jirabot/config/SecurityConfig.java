@@ -1,20 +1,82 @@
 package com.jirabot.config;
 
+import com.jirabot.filter.BearerTokenAuthenticationFilter;
+import com.jirabot.service.AuthService;
+import com.jirabot.service.UserActivityService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final String ACTUATOR_ROLE = "ACTUATOR";
+
+    /**
+     * Actuator endpoints. Health and info stay public for probes; metrics,
+     * Prometheus (tagged with customer domains) and the JFR switch need the
+     * operator credentials from {@code app.management.username} and
+     * {@code app.management.password} over HTTP Basic, and are closed while
+     * those are not set. Session tokens of application users are not
+     * accepted here.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain managementFilterChain(HttpSecurity http,
+            @Value("${app.management.username:}") String username,
+            @Value("${app.management.password:}") String password) throws Exception {
+        List<UserDetails> operators = new ArrayList<>();
+        if (!username.isBlank() && !password.isBlank()) {
+            // A value without an {id} prefix (e.g. {bcrypt}) is a plain password
+            String encoded = password.startsWith("{") ? password : "{noop}" + password;
+            operators.add(User.withUsername(username).password(encoded).roles(ACTUATOR_ROLE).build());
+        }
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(
+                PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        provider.setUserDetailsService(new InMemoryUserDetailsManager(operators));
+
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authenticationManager(new ProviderManager(provider))
+                .authorizeHttpRequests(authz -> authz
+                        .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class)).permitAll()
+                        .anyRequest().hasRole(ACTUATOR_ROLE))
+                .httpBasic(Customizer.withDefaults());
+        return http.build();
+    }
+
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, AuthService authService,
+            UserActivityService userActivityService) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
@@ -23,12 +85,22 @@ public class SecurityConfig {
                         .requestMatchers("/ricefw/**").permitAll()
                         .requestMatchers("/auth/**").permitAll()
                         .requestMatchers("/api/auth/**").permitAll()
-                        .requestMatchers("/projects/**").permitAll()
-                        .requestMatchers("/api/projects/**").permitAll()
+                        .requestMatchers("/projects/**").authenticated()
+                        .requestMatchers("/api/projects/**").authenticated()
                         .requestMatchers("/api/test/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
                         .anyRequest().authenticated())
+                // Resolves the session token's user once; handlers receive it as @CurrentUser
+                .addFilterBefore(new BearerTokenAuthenticationFilter(authService, userActivityService),
+                        AnonymousAuthenticationFilter.class)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint((request, response, authException) -> {
+                            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+                            response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+                            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                            response.getOutputStream()
+                                    .write("Invalid or expired session".getBytes(StandardCharsets.UTF_8));
+                        }))
                 .headers(headers -> headers
                         .frameOptions(frameOptions -> frameOptions
                                 .sameOrigin()));
@@ -49,8 +121,12 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * BCrypt with the configured cost; hashes of a lower cost are upgraded on
+     * the next successful login
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.auth.password-hashing.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
@@ -0,0 +1,75 @@
+package com.jirabot.config;
+
+import com.jirabot.service.JiraCallMetrics;
+import com.jirabot.service.JiraRateLimiter;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class WebClientConfig {
+
+    @Value("${app.jira.http.max-total-connections:100}")
+    private int maxTotalConnections;
+
+    @Value("${app.jira.http.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${app.jira.http.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
+    @Value("${app.jira.http.pool-acquire-timeout-ms:10000}")
+    private long poolAcquireTimeoutMs;
+
+    @Value("${app.jira.http.connection-ttl-ms:300000}")
+    private long connectionTtlMs;
+
+    @Value("${app.jira.http.idle-eviction-ms:30000}")
+    private long idleEvictionMs;
+
+    @Value("${app.jira.webclient.max-in-memory-size:16777216}")
+    private int maxInMemorySize;
+
+    /**
+     * Non-blocking JIRA client on Reactor Netty. Shares the pool sizing and
+     * timeout properties of the RestTemplate transport; pool metrics are
+     * published as reactor.netty.connection.provider.*.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider jiraConnectionProvider() {
+        return ConnectionProvider.builder("jira")
+                .maxConnections(maxTotalConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(poolAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(idleEvictionMs))
+                .maxLifeTime(Duration.ofMillis(connectionTtlMs))
+                .evictInBackground(Duration.ofMillis(idleEvictionMs))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient jiraWebClient(ConnectionProvider jiraConnectionProvider, JiraRateLimiter jiraRateLimiter,
+            JiraCallMetrics jiraCallMetrics) {
+        HttpClient httpClient = HttpClient.create(jiraConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs))
+                .keepAlive(true);
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .exchangeStrategies(ExchangeStrategies.builder()
+                        .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxInMemorySize))
+                        .build())
+                .filter(jiraRateLimiter.exchangeFilter())
+                .filter(jiraCallMetrics.exchangeFilter())
+                .build();
+    }
+}
@@ -9,11 +9,12 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/auth")
@@ -29,7 +30,12 @@ public class AuthController {
     public ResponseEntity<AuthResponse> signup(@Valid @RequestBody SignupRequest request) {
         logger.info("Signup request for username: {}", request.getUsername());
 
-        AuthResponse response = authService.signup(request);
+        AuthResponse response;
+        try {
+            response = authService.signup(request);
+        } catch (RejectedExecutionException e) {
+            return busy();
+        }
 
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
@@ -42,7 +48,12 @@ public class AuthController {
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         logger.info("Login request for username: {}", request.getUsername());
 
-        AuthResponse response = authService.login(request);
+        AuthResponse response;
+        try {
+            response = authService.login(request);
+        } catch (RejectedExecutionException e) {
+            return busy();
+        }
 
         if (response.isSuccess()) {
             return ResponseEntity.ok(response);
@@ -72,8 +83,27 @@ public class AuthController {
         }
     }
 
+    /**
+     * Ends all of the caller's sessions, on every device
+     */
+    @PostMapping("/logout-all")
+    public ResponseEntity<AuthResponse> logoutEverywhere(@CurrentUser User user) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(AuthResponse.error("Invalid or expired token"));
+        }
+
+        AuthResponse response = authService.logoutEverywhere(user);
+        if (response.isSuccess()) {
+            return ResponseEntity.ok(response);
+        } else {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     @GetMapping("/validate")
-    public ResponseEntity<AuthResponse> validateToken(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<AuthResponse> validateToken(@RequestHeader("Authorization") String authHeader,
+            @CurrentUser User user) {
         try {
             String token = extractToken(authHeader);
 
@@ -81,19 +111,14 @@ public class AuthController {
                 return ResponseEntity.badRequest().body(AuthResponse.error("Invalid authorization header"));
             }
 
-            boolean isValid = authService.validateToken(token);
-
-            if (isValid) {
-                Optional<User> userOptional = authService.getUserByToken(token);
-                if (userOptional.isPresent()) {
-                    User user = userOptional.get();
-                    return ResponseEntity.ok(AuthResponse.success(
-                            "Token is valid",
-                            user.getUsername(),
-                            user.getEmail(),
-                            token,
-                            user.getJiraToken()));
-                }
+            // The authentication filter has already looked the token up
+            if (user != null) {
+                return ResponseEntity.ok(AuthResponse.success(
+                        "Token is valid",
+                        user.getUsername(),
+                        user.getEmail(),
+                        token,
+                        user.getJiraToken()));
             }
 
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
@@ -107,7 +132,8 @@ public class AuthController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<?> getCurrentUser(@RequestHeader("Authorization") String authHeader,
+            @CurrentUser User user) {
         try {
             String token = extractToken(authHeader);
 
@@ -115,10 +141,7 @@ public class AuthController {
                 return ResponseEntity.badRequest().body(AuthResponse.error("Invalid authorization header"));
             }
 
-            Optional<User> userOptional = authService.getUserByToken(token);
-
-            if (userOptional.isPresent()) {
-                User user = userOptional.get();
+            if (user != null) {
                 return ResponseEntity.ok(user);
             }
 
@@ -132,6 +155,13 @@ public class AuthController {
         }
     }
 
+    // Password hashing is saturated: shed the request quickly instead of queueing it
+    private ResponseEntity<AuthResponse> busy() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(AuthResponse.error("Too many sign-in requests right now. Please try again shortly."));
+    }
+
     private String extractToken(String authHeader) {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             return authHeader.substring(7);
@@ -1,24 +1,47 @@
 package com.jirabot.controller;
 
 import com.jirabot.dto.JiraProjectRequest;
-import com.jirabot.dto.JiraProjectResponse;
 import com.jirabot.dto.CreateIssueRequest;
 import com.jirabot.dto.BulkIssueCreationResponse;
+import com.jirabot.dto.JiraWriteStatus;
+import com.jirabot.entity.JiraWrite;
+import com.jirabot.entity.JiraWriteState;
 import com.jirabot.entity.User;
 import com.jirabot.service.AuthService;
+import com.jirabot.service.BulkImportJobService;
+import com.jirabot.service.BulkImportLedgerService;
+import com.jirabot.service.BulkProgressEmitter;
+import com.jirabot.service.BulkProgressListener;
+import com.jirabot.service.JiraMetadataService;
 import com.jirabot.service.JiraService;
+import com.jirabot.service.JiraWriteOutboxService;
 import com.jirabot.service.ExcelProcessingService;
+import com.jirabot.service.IssueStreamWriter;
+import com.jirabot.service.JiraIssueStreamTransformer.IssuePage;
+import com.jirabot.service.JiraSession;
+import com.jirabot.service.JiraSessionRegistry;
+import com.jirabot.service.ReactiveJiraService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/projects")
@@ -27,35 +50,44 @@ public class ProjectController {
 
     private static final Logger logger = LoggerFactory.getLogger(ProjectController.class);
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     @Autowired
     private JiraService jiraService;
 
+    @Autowired
+    private ReactiveJiraService reactiveJiraService;
+
     @Autowired
     private AuthService authService;
 
     @Autowired
     private ExcelProcessingService excelProcessingService;
 
-    @PostMapping("/search")
-    public ResponseEntity<?> searchProjects(
-            @RequestHeader("Authorization") String authHeader,
-            @Valid @RequestBody JiraProjectRequest request) {
+    @Autowired
+    private IssueStreamWriter issueStreamWriter;
 
-        try {
-            // Extract and validate session token
-            String sessionToken = extractToken(authHeader);
-            if (sessionToken == null) {
-                return ResponseEntity.badRequest().body("Invalid authorization header");
-            }
+    @Autowired
+    private JiraSessionRegistry jiraSessionRegistry;
 
-            // Get user by session token
-            Optional<User> userOptional = authService.getUserByToken(sessionToken);
-            if (userOptional.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired session");
-            }
+    @Autowired
+    private JiraMetadataService jiraMetadataService;
 
-            User user = userOptional.get();
+    @Autowired
+    private BulkImportJobService bulkImportJobService;
+
+    @Autowired
+    private JiraWriteOutboxService jiraWriteOutboxService;
 
+    @Autowired
+    private BulkImportLedgerService bulkImportLedgerService;
+
+    @PostMapping("/search")
+    public Mono<ResponseEntity<?>> searchProjects(
+            @CurrentUser User user,
+            @Valid @RequestBody JiraProjectRequest request) {
+
+        try {
             // Use user's stored email and JIRA token if not provided in request
             if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
                 request.setEmail(user.getEmail());
@@ -63,8 +95,8 @@ public class ProjectController {
 
             if (request.getApiToken() == null || request.getApiToken().trim().isEmpty()) {
                 if (user.getJiraToken() == null) {
-                    return ResponseEntity.badRequest()
-                            .body("No JIRA token found for user. Please update your profile.");
+                    return respond(ResponseEntity.badRequest()
+                            .body("No JIRA token found for user. Please update your profile."));
                 }
                 request.setApiToken(user.getJiraToken());
             }
@@ -74,126 +106,125 @@ public class ProjectController {
 
             // Store the Atlassian domain for future use if not already set
             if (user.getAtlassianDomain() == null || user.getAtlassianDomain().trim().isEmpty()) {
-                user.setAtlassianDomain(request.getAtlassianDomain());
-                authService.updateUser(user);
+                authService.rememberAtlassianDomain(user, request.getAtlassianDomain());
                 logger.info("Stored Atlassian domain '{}' for user: {}", request.getAtlassianDomain(),
                         user.getUsername());
             }
 
             // Call Jira API
-            JiraProjectResponse jiraResponse = jiraService.getProjects(request);
-
-            return ResponseEntity.ok(jiraResponse);
+            return reactiveJiraService.getProjects(request)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .onErrorResume(e -> {
+                        logger.error("Error searching projects: ", e);
+                        return respond(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body("Error searching projects: " + e.getMessage()));
+                    });
 
         } catch (Exception e) {
             logger.error("Error searching projects: ", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error searching projects: " + e.getMessage());
+            return respond(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error searching projects: " + e.getMessage()));
         }
     }
 
+    /**
+     * Streams all issues of a project, page by page. Responds with the usual
+     * JSON document by default, or one issue per line when the client accepts
+     * application/x-ndjson.
+     */
     @GetMapping("/{projectKey}/issues")
-    public ResponseEntity<?> getProjectIssues(
-            @RequestHeader("Authorization") String authHeader,
-            @PathVariable String projectKey) {
+    public Mono<ResponseEntity<StreamingResponseBody>> getProjectIssues(
+            @CurrentUser User user,
+            @RequestHeader(value = "Accept", required = false) String accept,
+            @PathVariable String projectKey,
+            @RequestParam(defaultValue = "50") int pageSize,
+            @RequestParam(required = false) Integer limit) {
 
         try {
-            // Extract and validate session token
-            String sessionToken = extractToken(authHeader);
-            if (sessionToken == null) {
-                return ResponseEntity.badRequest().body("Invalid authorization header");
-            }
-
-            // Get user by session token
-            Optional<User> userOptional = authService.getUserByToken(sessionToken);
-            if (userOptional.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired session");
-            }
-
-            User user = userOptional.get();
-
             if (user.getJiraToken() == null) {
-                return ResponseEntity.badRequest()
-                        .body("No JIRA token found for user. Please update your profile.");
+                return streamText(HttpStatus.BAD_REQUEST, "No JIRA token found for user. Please update your profile.");
             }
 
-            logger.info("Fetching issues for project: {} for user: {}", projectKey, user.getUsername());
-
-            // Call Jira API to get project issues
-            Object jiraResponse = jiraService.getProjectIssues(projectKey, user.getEmail(), user.getJiraToken(),
-                    user.getAtlassianDomain());
-
-            return ResponseEntity.ok(jiraResponse);
+            boolean ndjson = accept != null && accept.contains(NDJSON.toString());
+            logger.info("Streaming issues for project: {} for user: {} (pageSize={}, limit={}, ndjson={})",
+                    projectKey, user.getUsername(), pageSize, limit, ndjson);
+
+            // Call Jira API to page through project issues
+            JiraSession session = jiraSessionRegistry.getSession(user);
+            return reactiveJiraService.getProjectIssuePages(projectKey, session, pageSize, limit)
+                    .map(pages -> ResponseEntity.ok()
+                            .contentType(ndjson ? NDJSON : MediaType.APPLICATION_JSON)
+                            .<StreamingResponseBody>body(out -> {
+                                // Prefetch one page so the next request overlaps with writing; closing the
+                                // stream cancels the paging when the client goes away mid-response
+                                try (Stream<IssuePage> stream = pages.toStream(2)) {
+                                    if (ndjson) {
+                                        issueStreamWriter.writeNdjson(stream::iterator, out);
+                                    } else {
+                                        issueStreamWriter.writeJson(stream::iterator, out);
+                                    }
+                                }
+                            }))
+                    .onErrorResume(e -> {
+                        logger.error("Error fetching project issues: ", e);
+                        return streamText(HttpStatus.INTERNAL_SERVER_ERROR,
+                                "Error fetching project issues: " + e.getMessage());
+                    });
 
         } catch (Exception e) {
             logger.error("Error fetching project issues: ", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error fetching project issues: " + e.getMessage());
+            return streamText(HttpStatus.INTERNAL_SERVER_ERROR, "Error fetching project issues: " + e.getMessage());
         }
     }
 
     @PostMapping("/{projectKey}/issues")
-    public ResponseEntity<?> createIssue(
-            @RequestHeader("Authorization") String authHeader,
+    public Mono<ResponseEntity<?>> createIssue(
+            @CurrentUser User user,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
             @PathVariable String projectKey,
             @RequestBody CreateIssueRequest request) {
 
         try {
-            // Extract and validate session token
-            String sessionToken = extractToken(authHeader);
-            if (sessionToken == null) {
-                return ResponseEntity.badRequest().body("Invalid authorization header");
-            }
-
-            // Get user by session token
-            Optional<User> userOptional = authService.getUserByToken(sessionToken);
-            if (userOptional.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired session");
-            }
-
-            User user = userOptional.get();
-
             // Check if user has JIRA token
             if (user.getJiraToken() == null || user.getJiraToken().trim().isEmpty()) {
-                return ResponseEntity.badRequest()
-                        .body("No JIRA token found for user. Please update your profile.");
+                return respond(ResponseEntity.badRequest()
+                        .body("No JIRA token found for user. Please update your profile."));
             }
 
             logger.info("Creating issue in project: {} for user: {}", projectKey, user.getUsername());
 
             // Call Jira API to create issue
-            Object jiraResponse = jiraService.createIssue(projectKey, user.getEmail(), user.getJiraToken(), request);
-
-            return ResponseEntity.ok(jiraResponse);
+            JiraSession session = jiraSessionRegistry.getSession(user);
+
+            // Reject unknown issue types and priorities locally, then call Jira API to create issue
+            return jiraMetadataService.validate(session, projectKey, request)
+                    .<ResponseEntity<?>>map(error -> ResponseEntity.badRequest().body(error))
+                    .switchIfEmpty(Mono.defer(() -> wantsAsync(prefer)
+                            ? Mono.<ResponseEntity<?>>fromCallable(() -> accepted(
+                                    jiraWriteOutboxService.enqueueCreateIssue(user.getId(), projectKey, request)))
+                                    .subscribeOn(Schedulers.boundedElastic())
+                            : reactiveJiraService.createIssue(projectKey, session, request)
+                                    .map(ResponseEntity::ok)))
+                    .onErrorResume(e -> {
+                        logger.error("Error creating issue: ", e);
+                        return respond(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body("Error creating issue: " + e.getMessage()));
+                    });
 
         } catch (Exception e) {
             logger.error("Error creating issue: ", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error creating issue: " + e.getMessage());
+            return respond(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error creating issue: " + e.getMessage()));
         }
     }
 
     @PostMapping("/{projectKey}/issues/bulk")
     public ResponseEntity<?> createIssuesBulk(
-            @RequestHeader("Authorization") String authHeader,
+            @CurrentUser User user,
             @PathVariable String projectKey,
             @RequestParam("file") MultipartFile file) {
 
         try {
-            // Extract and validate session token
-            String sessionToken = extractToken(authHeader);
-            if (sessionToken == null) {
-                return ResponseEntity.badRequest().body("Invalid authorization header");
-            }
-
-            // Get user by session token
-            Optional<User> userOptional = authService.getUserByToken(sessionToken);
-            if (userOptional.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired session");
-            }
-
-            User user = userOptional.get();
-
             // Check if user has JIRA token
             if (user.getJiraToken() == null || user.getJiraToken().trim().isEmpty()) {
                 return ResponseEntity.badRequest()
@@ -201,41 +232,48 @@ public class ProjectController {
             }
 
             // Validate file
-            if (file.isEmpty()) {
-                return ResponseEntity.badRequest().body("Please upload a valid Excel file");
-            }
-
-            // Check file type
-            String contentType = file.getContentType();
-            if (contentType == null
-                    || (!contentType.equals("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
-                            && !contentType.equals("application/vnd.ms-excel"))) {
-                return ResponseEntity.badRequest()
-                        .body("Invalid file type. Please upload an Excel file (.xlsx or .xls)");
+            String uploadError = checkExcelUpload(file);
+            if (uploadError != null) {
+                return ResponseEntity.badRequest().body(uploadError);
             }
 
             logger.info("Processing bulk issue creation from Excel file '{}' for project: {} by user: {}",
                     file.getOriginalFilename(), projectKey, user.getUsername());
 
-            // Validate Excel structure
-            if (!excelProcessingService.validateExcelStructure(file)) {
+            JiraSession session = jiraSessionRegistry.getSession(user);
+            JiraMetadataService.ProjectMetadata metadata = jiraMetadataService.findMetadata(session, projectKey)
+                    .orElse(null);
+
+            // Parse and create in one pipeline: the structure is checked before the first row is read, and
+            // issues are created while later rows are still being parsed
+            // Re-uploading the same workbook resumes it: rows created earlier are not sent again
+            String fileHash = bulkImportLedgerService.contentHash(file.getInputStream());
+            BulkIssueCreationResponse response;
+            try (BulkImportLedgerService.Ledger ledger = bulkImportLedgerService.open(user.getId(), projectKey,
+                    fileHash, file.getOriginalFilename(), BulkProgressListener.NONE)) {
+                response = jiraService.createIssuesBulk(projectKey, session,
+                        sink -> excelProcessingService.streamExcelFile(file, metadata, sink), ledger);
+            } catch (ExcelProcessingService.InvalidExcelStructureException e) {
+                logger.warn("Rejected Excel upload '{}': {}", file.getOriginalFilename(), e.getMessage());
                 return ResponseEntity.badRequest()
                         .body("Invalid Excel file structure. Please ensure the file has the correct format.");
+            } catch (BulkImportLedgerService.ImportInProgressException e) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+            } catch (BulkImportLedgerService.LedgerWriteException e) {
+                logger.error("Bulk import of '{}' stopped: {}", file.getOriginalFilename(), e.getMessage());
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+            } catch (RejectedExecutionException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body("Too many bulk imports are running. Please try again later.");
             }
 
-            // Parse Excel file to get issue requests
-            List<CreateIssueRequest> issueRequests = excelProcessingService.parseExcelFile(file);
-
-            if (issueRequests.isEmpty()) {
+            if (response.getTotalProcessed() == 0) {
                 return ResponseEntity.badRequest()
                         .body("No valid issues found in the Excel file. Please check the file format and content.");
             }
 
-            logger.info("Found {} valid issues to create in project: {}", issueRequests.size(), projectKey);
-
-            // Create issues in bulk
-            BulkIssueCreationResponse response = jiraService.createIssuesBulk(
-                    projectKey, user.getEmail(), user.getJiraToken(), issueRequests);
+            logger.info("Processed {} issues from Excel file for project: {}", response.getTotalProcessed(),
+                    projectKey);
 
             return ResponseEntity.ok(response);
 
@@ -246,45 +284,195 @@ public class ProjectController {
         }
     }
 
-    @PutMapping("/issues/{issueKey}/labels")
-    public ResponseEntity<?> updateIssueLabels(
-            @RequestHeader("Authorization") String authHeader,
-            @PathVariable String issueKey,
-            @RequestBody UpdateLabelsRequest request) {
+    /**
+     * Bulk creation that streams its progress as Server-Sent Events: one "row"
+     * event per created or failed row, then a "summary" event with the counts.
+     * Disconnecting cancels the rows not yet sent to JIRA.
+     */
+    @PostMapping(value = "/{projectKey}/issues/bulk/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamIssuesBulk(
+            @CurrentUser User user,
+            @PathVariable String projectKey,
+            @RequestParam("file") MultipartFile file) {
 
         try {
-            // Extract and validate session token
-            String sessionToken = extractToken(authHeader);
-            if (sessionToken == null) {
-                return ResponseEntity.badRequest().body("Invalid authorization header");
+            // Check if user has JIRA token
+            if (user.getJiraToken() == null || user.getJiraToken().trim().isEmpty()) {
+                return sseError(HttpStatus.BAD_REQUEST, "No JIRA token found for user. Please update your profile.");
+            }
+
+            // Validate file
+            String uploadError = checkExcelUpload(file);
+            if (uploadError != null) {
+                return sseError(HttpStatus.BAD_REQUEST, uploadError);
             }
 
-            // Get user by session token
-            Optional<User> userOptional = authService.getUserByToken(sessionToken);
-            if (userOptional.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired session");
+            logger.info("Streaming bulk issue creation from Excel file '{}' for project: {} by user: {}",
+                    file.getOriginalFilename(), projectKey, user.getUsername());
+
+            JiraSession session = jiraSessionRegistry.getSession(user);
+            JiraMetadataService.ProjectMetadata metadata = jiraMetadataService.findMetadata(session, projectKey)
+                    .orElse(null);
+
+            // The import outlives the request thread, so it reads its own copy of the upload
+            Path workbook = excelProcessingService.copyToTempFile(file);
+            try {
+                return ResponseEntity.ok(bulkImportJobService.stream(user.getId(), session, projectKey, workbook,
+                        file.getOriginalFilename(), metadata).getEmitter());
+            } catch (RejectedExecutionException e) {
+                return sseError(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Too many bulk imports are queued. Please try again later.");
             }
 
-            User user = userOptional.get();
+        } catch (Exception e) {
+            logger.error("Error streaming bulk issue creation: ", e);
+            return sseError(HttpStatus.INTERNAL_SERVER_ERROR, "Error creating issues in bulk: " + e.getMessage());
+        }
+    }
 
+    /**
+     * Starts a bulk import in the background and returns its job id right
+     * away; poll the job for progress instead of holding the upload request
+     * open for the whole import.
+     */
+    @PostMapping("/{projectKey}/issues/bulk/jobs")
+    public ResponseEntity<?> submitBulkImportJob(
+            @CurrentUser User user,
+            @PathVariable String projectKey,
+            @RequestParam("file") MultipartFile file) {
+
+        try {
             // Check if user has JIRA token
             if (user.getJiraToken() == null || user.getJiraToken().trim().isEmpty()) {
                 return ResponseEntity.badRequest()
                         .body("No JIRA token found for user. Please update your profile.");
             }
 
+            // Validate file
+            String uploadError = checkExcelUpload(file);
+            if (uploadError != null) {
+                return ResponseEntity.badRequest().body(uploadError);
+            }
+
+            JiraSession session = jiraSessionRegistry.getSession(user);
+            JiraMetadataService.ProjectMetadata metadata = jiraMetadataService.findMetadata(session, projectKey)
+                    .orElse(null);
+
+            // The upload is only valid for this request, so the job gets its own copy
+            Path workbook = excelProcessingService.copyToTempFile(file);
+            BulkImportJobService.BulkImportJob job;
+            try {
+                job = bulkImportJobService.submit(user.getId(), session, projectKey, workbook,
+                        file.getOriginalFilename(), metadata);
+            } catch (RejectedExecutionException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .body("Too many bulk imports are queued. Please try again later.");
+            }
+
+            logger.info("Submitted bulk import job {} for project: {} by user: {}", job.getId(), projectKey,
+                    user.getUsername());
+
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/projects/" + projectKey + "/issues/bulk/jobs/" + job.getId()))
+                    .body(job.toStatus());
+
+        } catch (Exception e) {
+            logger.error("Error submitting bulk import job: ", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error submitting bulk import job: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Progress of a bulk import job, including the rows finished so far
+     */
+    @GetMapping("/{projectKey}/issues/bulk/jobs/{jobId}")
+    public ResponseEntity<?> getBulkImportJob(
+            @CurrentUser User user,
+            @PathVariable String projectKey,
+            @PathVariable String jobId) {
+
+        try {
+            Optional<BulkImportJobService.BulkImportJob> job = bulkImportJobService.getJob(jobId, user.getId(),
+                    projectKey);
+            if (job.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Bulk import job not found");
+            }
+
+            return ResponseEntity.ok(job.get().toStatus());
+
+        } catch (Exception e) {
+            logger.error("Error fetching bulk import job {}: ", jobId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error fetching bulk import job: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Cancels a bulk import job. Rows already sent to JIRA are kept; the rest
+     * are not created.
+     */
+    @DeleteMapping("/{projectKey}/issues/bulk/jobs/{jobId}")
+    public ResponseEntity<?> cancelBulkImportJob(
+            @CurrentUser User user,
+            @PathVariable String projectKey,
+            @PathVariable String jobId) {
+
+        try {
+            Optional<BulkImportJobService.BulkImportJob> job = bulkImportJobService.getJob(jobId, user.getId(),
+                    projectKey);
+            if (job.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Bulk import job not found");
+            }
+
+            if (!job.get().isFinished()) {
+                bulkImportJobService.cancel(job.get());
+            }
+            return ResponseEntity.ok(job.get().toStatus());
+
+        } catch (Exception e) {
+            logger.error("Error cancelling bulk import job {}: ", jobId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error cancelling bulk import job: " + e.getMessage());
+        }
+    }
+
+    @PutMapping("/issues/{issueKey}/labels")
+    public Mono<ResponseEntity<?>> updateIssueLabels(
+            @CurrentUser User user,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @PathVariable String issueKey,
+            @RequestBody UpdateLabelsRequest request) {
+
+        try {
+            // Check if user has JIRA token
+            if (user.getJiraToken() == null || user.getJiraToken().trim().isEmpty()) {
+                return respond(ResponseEntity.badRequest()
+                        .body("No JIRA token found for user. Please update your profile."));
+            }
+
             logger.info("Updating labels for issue: {} to category: {} for user: {}",
                     issueKey, request.getRicefwCategory(), user.getUsername());
 
-            // Call Jira API to update issue labels
-            jiraService.updateIssueLabels(issueKey, user.getEmail(), user.getJiraToken(), request.getRicefwCategory());
+            if (wantsAsync(prefer)) {
+                return respond(accepted(jiraWriteOutboxService.enqueueLabelsUpdate(user.getId(), issueKey,
+                        request.getRicefwCategory())));
+            }
 
-            return ResponseEntity.ok().body("Labels updated successfully");
+            // Call Jira API to update issue labels
+            JiraSession session = jiraSessionRegistry.getSession(user);
+            return reactiveJiraService.updateIssueLabels(issueKey, session, request.getRicefwCategory())
+                    .then(respond(ResponseEntity.ok().body("Labels updated successfully")))
+                    .onErrorResume(e -> {
+                        logger.error("Error updating issue labels: ", e);
+                        return respond(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body("Error updating issue labels: " + e.getMessage()));
+                    });
 
         } catch (Exception e) {
             logger.error("Error updating issue labels: ", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error updating issue labels: " + e.getMessage());
+            return respond(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error updating issue labels: " + e.getMessage()));
         }
     }
 
@@ -292,37 +480,29 @@ public class ProjectController {
      * Get available transitions for an issue
      */
     @GetMapping("/{projectKey}/issues/{issueKey}/transitions")
-    public ResponseEntity<?> getIssueTransitions(
-            @RequestHeader("Authorization") String authHeader,
+    public Mono<ResponseEntity<?>> getIssueTransitions(
+            @CurrentUser User user,
             @PathVariable String projectKey,
             @PathVariable String issueKey) {
 
         try {
-            // Extract and validate session token
-            String sessionToken = extractToken(authHeader);
-            if (sessionToken == null) {
-                return ResponseEntity.badRequest().body("Invalid authorization header");
-            }
-
-            // Get user by session token
-            Optional<User> userOptional = authService.getUserByToken(sessionToken);
-            if (userOptional.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired session");
-            }
-
-            User user = userOptional.get();
             logger.info("Fetching transitions for issue: {} in project: {} for user: {}", issueKey, projectKey,
                     user.getUsername());
 
             // Call Jira service to get transitions
-            Object transitions = jiraService.getIssueTransitions(issueKey, user.getEmail(), user.getJiraToken());
-
-            return ResponseEntity.ok(transitions);
+            JiraSession session = jiraSessionRegistry.getSession(user);
+            return reactiveJiraService.getIssueTransitions(issueKey, session)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .onErrorResume(e -> {
+                        logger.error("Error fetching transitions for issue: {}", issueKey, e);
+                        return respond(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body("Error fetching issue transitions: " + e.getMessage()));
+                    });
 
         } catch (Exception e) {
             logger.error("Error fetching transitions for issue: {}", issueKey, e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error fetching issue transitions: " + e.getMessage());
+            return respond(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error fetching issue transitions: " + e.getMessage()));
         }
     }
 
@@ -330,45 +510,128 @@ public class ProjectController {
      * Apply a transition to change issue status
      */
     @PostMapping("/{projectKey}/issues/{issueKey}/transitions")
-    public ResponseEntity<?> transitionIssue(
-            @RequestHeader("Authorization") String authHeader,
+    public Mono<ResponseEntity<?>> transitionIssue(
+            @CurrentUser User user,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
             @PathVariable String projectKey,
             @PathVariable String issueKey,
             @RequestBody TransitionRequest request) {
 
         try {
-            // Extract and validate session token
-            String sessionToken = extractToken(authHeader);
-            if (sessionToken == null) {
-                return ResponseEntity.badRequest().body("Invalid authorization header");
+            logger.info("Applying transition {} to issue: {} in project: {} for user: {}",
+                    request.getTransitionId(), issueKey, projectKey, user.getUsername());
+
+            if (wantsAsync(prefer)) {
+                return respond(accepted(jiraWriteOutboxService.enqueueTransition(user.getId(), projectKey, issueKey,
+                        request.getTransitionId())));
             }
 
-            // Get user by session token
-            Optional<User> userOptional = authService.getUserByToken(sessionToken);
-            if (userOptional.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid or expired session");
+            // Call Jira service to apply transition
+            JiraSession session = jiraSessionRegistry.getSession(user);
+            return reactiveJiraService.transitionIssue(issueKey, request.getTransitionId(), session)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .onErrorResume(e -> {
+                        logger.error("Error applying transition to issue: {}", issueKey, e);
+                        return respond(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                .body("Error applying transition: " + e.getMessage()));
+                    });
+
+        } catch (Exception e) {
+            logger.error("Error applying transition to issue: {}", issueKey, e);
+            return respond(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error applying transition: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Status of a write queued with {@code Prefer: respond-async}
+     */
+    @GetMapping("/writes/{writeId}")
+    public ResponseEntity<?> getJiraWrite(
+            @CurrentUser User user,
+            @PathVariable Long writeId) {
+
+        try {
+            Optional<JiraWrite> write = jiraWriteOutboxService.findForUser(writeId, user.getId());
+            if (write.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("JIRA write not found");
             }
 
-            User user = userOptional.get();
-            logger.info("Applying transition {} to issue: {} in project: {} for user: {}",
-                    request.getTransitionId(), issueKey, projectKey, user.getUsername());
+            return ResponseEntity.ok(JiraWriteStatus.from(write.get()));
 
-            // Call Jira service to apply transition
-            Object result = jiraService.transitionIssue(issueKey, request.getTransitionId(), user.getEmail(),
-                    user.getJiraToken());
+        } catch (Exception e) {
+            logger.error("Error fetching JIRA write {}: ", writeId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error fetching JIRA write: " + e.getMessage());
+        }
+    }
 
-            return ResponseEntity.ok(result);
+    /**
+     * Requeues a dead-lettered write
+     */
+    @PostMapping("/writes/{writeId}/retry")
+    public ResponseEntity<?> retryJiraWrite(
+            @CurrentUser User user,
+            @PathVariable Long writeId) {
+
+        try {
+            Optional<JiraWrite> write = jiraWriteOutboxService.findForUser(writeId, user.getId());
+            if (write.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("JIRA write not found");
+            }
+            if (write.get().getState() != JiraWriteState.DEAD) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("Only failed writes can be retried");
+            }
+
+            return accepted(jiraWriteOutboxService.retry(write.get()));
 
         } catch (Exception e) {
-            logger.error("Error applying transition to issue: {}", issueKey, e);
+            logger.error("Error retrying JIRA write {}: ", writeId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error applying transition: " + e.getMessage());
+                    .body("Error retrying JIRA write: " + e.getMessage());
         }
     }
 
-    private String extractToken(String authHeader) {
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            return authHeader.substring(7);
+    // Clients opt in to queued writes with the RFC 7240 "Prefer: respond-async" header
+    private boolean wantsAsync(String prefer) {
+        return prefer != null && prefer.toLowerCase(Locale.ROOT).contains("respond-async")
+                && jiraWriteOutboxService.isEnabled();
+    }
+
+    private ResponseEntity<?> accepted(JiraWrite write) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/projects/writes/" + write.getId()))
+                .header("Preference-Applied", "respond-async")
+                .body(JiraWriteStatus.from(write));
+    }
+
+    private Mono<ResponseEntity<?>> respond(ResponseEntity<?> response) {
+        return Mono.just(response);
+    }
+
+    private ResponseEntity<SseEmitter> sseError(HttpStatus status, String message) {
+        BulkProgressEmitter progress = new BulkProgressEmitter(0L);
+        progress.fail(message);
+        return ResponseEntity.status(status).body(progress.getEmitter());
+    }
+
+    private Mono<ResponseEntity<StreamingResponseBody>> streamText(HttpStatus status, String message) {
+        return Mono.just(ResponseEntity.status(status)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private String checkExcelUpload(MultipartFile file) {
+        if (file.isEmpty()) {
+            return "Please upload a valid Excel file";
+        }
+
+        // Check file type
+        String contentType = file.getContentType();
+        if (contentType == null
+                || (!contentType.equals("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                        && !contentType.equals("application/vnd.ms-excel"))) {
+            return "Invalid file type. Please upload an Excel file (.xlsx or .xls)";
         }
         return null;
     }
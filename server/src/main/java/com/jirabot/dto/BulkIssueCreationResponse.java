@@ -8,6 +8,8 @@ public class BulkIssueCreationResponse {
     private int failed;
     private List<String> createdIssueKeys;
     private List<BulkIssueError> errors;
+    private int alreadyCreated; // Rows an earlier upload of the same file had created, not sent again
+    private int outcomeUnknown; // Failed rows that may exist in JIRA anyway and are never sent again
 
     // Default constructor
     public BulkIssueCreationResponse() {
@@ -48,6 +50,22 @@ public class BulkIssueCreationResponse {
         this.failed = failed;
     }
 
+    public int getAlreadyCreated() {
+        return alreadyCreated;
+    }
+
+    public void setAlreadyCreated(int alreadyCreated) {
+        this.alreadyCreated = alreadyCreated;
+    }
+
+    public int getOutcomeUnknown() {
+        return outcomeUnknown;
+    }
+
+    public void setOutcomeUnknown(int outcomeUnknown) {
+        this.outcomeUnknown = outcomeUnknown;
+    }
+
     public List<String> getCreatedIssueKeys() {
         return createdIssueKeys;
     }
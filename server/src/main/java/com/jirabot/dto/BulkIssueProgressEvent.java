@@ -0,0 +1,43 @@
+package com.jirabot.dto;
+
+public class BulkIssueProgressEvent {
+    private int rowNumber;
+    private String issueKey; // Set when the issue was created
+    private String errorMessage; // Set when the row failed
+
+    // Default constructor
+    public BulkIssueProgressEvent() {
+    }
+
+    // Constructor
+    public BulkIssueProgressEvent(int rowNumber, String issueKey, String errorMessage) {
+        this.rowNumber = rowNumber;
+        this.issueKey = issueKey;
+        this.errorMessage = errorMessage;
+    }
+
+    // Getters and setters
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    public void setRowNumber(int rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    public String getIssueKey() {
+        return issueKey;
+    }
+
+    public void setIssueKey(String issueKey) {
+        this.issueKey = issueKey;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
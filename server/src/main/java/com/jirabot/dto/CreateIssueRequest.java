@@ -8,6 +8,7 @@ public class CreateIssueRequest {
     private String issueTypeName;
     private String priorityName;
     private List<String> labels;
+    private Integer rowNumber; // Source Excel row (1-based) for bulk uploads
 
     // Default constructor
     public CreateIssueRequest() {
@@ -53,4 +54,12 @@ public class CreateIssueRequest {
     public void setLabels(List<String> labels) {
         this.labels = labels;
     }
+
+    public Integer getRowNumber() {
+        return rowNumber;
+    }
+
+    public void setRowNumber(Integer rowNumber) {
+        this.rowNumber = rowNumber;
+    }
 }
@@ -0,0 +1,128 @@
+package com.jirabot.dto;
+
+import com.jirabot.entity.JiraWrite;
+
+import java.time.LocalDateTime;
+
+public class JiraWriteStatus {
+    private Long id;
+    private String operation;
+    private String state; // PENDING, IN_PROGRESS, SUCCEEDED, DEAD
+    private String projectKey;
+    private String issueKey;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String lastError;
+    private String resultKey; // Key of the created issue
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    // Default constructor
+    public JiraWriteStatus() {
+    }
+
+    public static JiraWriteStatus from(JiraWrite write) {
+        JiraWriteStatus status = new JiraWriteStatus();
+        status.setId(write.getId());
+        status.setOperation(write.getOperation().name());
+        status.setState(write.getState().name());
+        status.setProjectKey(write.getProjectKey());
+        status.setIssueKey(write.getIssueKey());
+        status.setAttempts(write.getAttempts());
+        status.setNextAttemptAt(write.getNextAttemptAt());
+        status.setLastError(write.getLastError());
+        status.setResultKey(write.getResultKey());
+        status.setCreatedAt(write.getCreatedAt());
+        status.setCompletedAt(write.getCompletedAt());
+        return status;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getProjectKey() {
+        return projectKey;
+    }
+
+    public void setProjectKey(String projectKey) {
+        this.projectKey = projectKey;
+    }
+
+    public String getIssueKey() {
+        return issueKey;
+    }
+
+    public void setIssueKey(String issueKey) {
+        this.issueKey = issueKey;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getResultKey() {
+        return resultKey;
+    }
+
+    public void setResultKey(String resultKey) {
+        this.resultKey = resultKey;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,94 @@
+package com.jirabot.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One workbook imported into a project, identified by the SHA-256 of its
+ * contents. Re-uploading the same file resumes this import.
+ */
+@Entity
+@Table(name = "bulk_imports", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_bulk_imports_file", columnNames = { "user_id", "project_key", "file_hash" })
+})
+public class BulkImport extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "project_key", nullable = false)
+    private String projectKey;
+
+    @Column(name = "file_hash", nullable = false, length = 64)
+    private String fileHash;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "runs", nullable = false)
+    private Integer runs = 0;
+
+    @Column(name = "last_run_at")
+    private LocalDateTime lastRunAt;
+
+    // Constructors
+    public BulkImport() {
+    }
+
+    public BulkImport(Long userId, String projectKey, String fileHash, String fileName) {
+        this.userId = userId;
+        this.projectKey = projectKey;
+        this.fileHash = fileHash;
+        this.fileName = fileName;
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getProjectKey() {
+        return projectKey;
+    }
+
+    public void setProjectKey(String projectKey) {
+        this.projectKey = projectKey;
+    }
+
+    public String getFileHash() {
+        return fileHash;
+    }
+
+    public void setFileHash(String fileHash) {
+        this.fileHash = fileHash;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Integer getRuns() {
+        return runs;
+    }
+
+    public void setRuns(Integer runs) {
+        this.runs = runs;
+    }
+
+    public LocalDateTime getLastRunAt() {
+        return lastRunAt;
+    }
+
+    public void setLastRunAt(LocalDateTime lastRunAt) {
+        this.lastRunAt = lastRunAt;
+    }
+}
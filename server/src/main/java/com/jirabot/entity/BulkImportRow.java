@@ -0,0 +1,80 @@
+package com.jirabot.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Latest outcome of one workbook row within a {@link BulkImport}
+ */
+@Entity
+@Table(name = "bulk_import_rows", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_bulk_import_rows_row", columnNames = { "bulk_import_id", "excel_row" })
+})
+public class BulkImportRow extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bulk_import_id", nullable = false)
+    private BulkImport bulkImport;
+
+    @Column(name = "excel_row", nullable = false)
+    private Integer rowNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false)
+    private BulkImportRowState state;
+
+    @Column(name = "issue_key")
+    private String issueKey;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    // Constructors
+    public BulkImportRow() {
+    }
+
+    public BulkImportRow(BulkImport bulkImport, Integer rowNumber) {
+        this.bulkImport = bulkImport;
+        this.rowNumber = rowNumber;
+    }
+
+    // Getters and Setters
+    public BulkImport getBulkImport() {
+        return bulkImport;
+    }
+
+    public void setBulkImport(BulkImport bulkImport) {
+        this.bulkImport = bulkImport;
+    }
+
+    public Integer getRowNumber() {
+        return rowNumber;
+    }
+
+    public void setRowNumber(Integer rowNumber) {
+        this.rowNumber = rowNumber;
+    }
+
+    public BulkImportRowState getState() {
+        return state;
+    }
+
+    public void setState(BulkImportRowState state) {
+        this.state = state;
+    }
+
+    public String getIssueKey() {
+        return issueKey;
+    }
+
+    public void setIssueKey(String issueKey) {
+        this.issueKey = issueKey;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+}
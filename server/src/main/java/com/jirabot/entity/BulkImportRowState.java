@@ -0,0 +1,23 @@
+package com.jirabot.entity;
+
+public enum BulkImportRowState {
+    CREATED("Created"),
+    FAILED("Failed"),
+    // The create request reached JIRA without a usable answer; the issue may exist, so it is not sent again
+    UNKNOWN("Outcome unknown");
+
+    private final String displayName;
+
+    BulkImportRowState(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
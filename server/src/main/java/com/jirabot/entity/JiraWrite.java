@@ -0,0 +1,167 @@
+package com.jirabot.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A JIRA write recorded in the outbox. It is acknowledged once stored and
+ * sent by the outbox workers, which retry it with backoff until it succeeds
+ * or is dead-lettered.
+ */
+@Entity
+@Table(name = "jira_write_outbox", indexes = {
+        @Index(name = "idx_jira_write_outbox_due", columnList = "state, next_attempt_at")
+})
+public class JiraWrite extends BaseEntity {
+
+    // The worker resolves the JIRA session from the user, so no credentials are stored here
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false)
+    private JiraWriteOperation operation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "state", nullable = false)
+    private JiraWriteState state = JiraWriteState.PENDING;
+
+    @Column(name = "project_key")
+    private String projectKey;
+
+    @Column(name = "issue_key")
+    private String issueKey;
+
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Set on each claim; only the worker holding the current lease may record the outcome
+    @Column(name = "lease", length = 36)
+    private String lease;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "result_key")
+    private String resultKey;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public JiraWrite() {
+    }
+
+    public JiraWrite(Long userId, JiraWriteOperation operation, String projectKey, String issueKey, String payload) {
+        this.userId = userId;
+        this.operation = operation;
+        this.projectKey = projectKey;
+        this.issueKey = issueKey;
+        this.payload = payload;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public JiraWriteOperation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(JiraWriteOperation operation) {
+        this.operation = operation;
+    }
+
+    public JiraWriteState getState() {
+        return state;
+    }
+
+    public void setState(JiraWriteState state) {
+        this.state = state;
+    }
+
+    public String getProjectKey() {
+        return projectKey;
+    }
+
+    public void setProjectKey(String projectKey) {
+        this.projectKey = projectKey;
+    }
+
+    public String getIssueKey() {
+        return issueKey;
+    }
+
+    public void setIssueKey(String issueKey) {
+        this.issueKey = issueKey;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public String getLease() {
+        return lease;
+    }
+
+    public void setLease(String lease) {
+        this.lease = lease;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public String getResultKey() {
+        return resultKey;
+    }
+
+    public void setResultKey(String resultKey) {
+        this.resultKey = resultKey;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
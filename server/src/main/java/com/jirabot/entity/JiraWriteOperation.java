@@ -0,0 +1,22 @@
+package com.jirabot.entity;
+
+public enum JiraWriteOperation {
+    CREATE_ISSUE("Create Issue"),
+    UPDATE_LABELS("Update Labels"),
+    TRANSITION_ISSUE("Transition Issue");
+
+    private final String displayName;
+
+    JiraWriteOperation(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
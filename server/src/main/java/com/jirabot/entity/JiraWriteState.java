@@ -0,0 +1,23 @@
+package com.jirabot.entity;
+
+public enum JiraWriteState {
+    PENDING("Pending"),
+    IN_PROGRESS("In Progress"),
+    SUCCEEDED("Succeeded"),
+    DEAD("Dead");
+
+    private final String displayName;
+
+    JiraWriteState(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,73 @@
+package com.jirabot.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revoked signed session token, or with no token id, every token of the
+ * user issued before {@code issuedBefore}. Rows are only needed until the
+ * tokens they revoke would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_created_at", columnList = "created_at")
+})
+public class RevokedToken extends BaseEntity {
+
+    @Column(name = "token_id", length = 64)
+    private String tokenId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "issued_before")
+    private LocalDateTime issuedBefore;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Constructors
+    public RevokedToken() {
+    }
+
+    public RevokedToken(String tokenId, Long userId, LocalDateTime issuedBefore, LocalDateTime expiresAt) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.issuedBefore = issuedBefore;
+        this.expiresAt = expiresAt;
+    }
+
+    // Getters and Setters
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDateTime getIssuedBefore() {
+        return issuedBefore;
+    }
+
+    public void setIssuedBefore(LocalDateTime issuedBefore) {
+        this.issuedBefore = issuedBefore;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -51,6 +51,10 @@ public class User extends BaseEntity {
     @Column(name = "last_login")
     private LocalDateTime lastLogin;
 
+    // Time of the latest authenticated request; written behind, so it can lag by the flush interval
+    @Column(name = "last_seen")
+    private LocalDateTime lastSeen;
+
     // Constructors
     public User() {
     }
@@ -142,6 +146,14 @@ public class User extends BaseEntity {
         this.lastLogin = lastLogin;
     }
 
+    public LocalDateTime getLastSeen() {
+        return lastSeen;
+    }
+
+    public void setLastSeen(LocalDateTime lastSeen) {
+        this.lastSeen = lastSeen;
+    }
+
     @Override
     public String toString() {
         return "User{" +
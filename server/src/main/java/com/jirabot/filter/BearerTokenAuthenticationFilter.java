@@ -0,0 +1,70 @@
+package com.jirabot.filter;
+
+import com.jirabot.entity.User;
+import com.jirabot.service.AuthService;
+import com.jirabot.service.UserActivityService;
+import io.micrometer.context.ContextRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Resolves the user of a {@code Bearer} session token once per request and
+ * stores it in the {@link SecurityContext}, where controllers get it through
+ * {@link com.jirabot.controller.CurrentUser} and JPA auditing reads the
+ * username; the user's last-seen time is recorded write-behind. Requests
+ * without a valid token continue unauthenticated; the security configuration
+ * decides whether that is allowed.
+ * <p>
+ * The context is also kept as a request attribute so the async dispatch of a
+ * reactive or streaming handler sees the same user without another lookup,
+ * and registered for Reactor context propagation so it follows reactive
+ * continuations onto other threads.
+ */
+public class BearerTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor("jirabot.security-context",
+                SecurityContextHolder::getContext, SecurityContextHolder::setContext,
+                SecurityContextHolder::clearContext);
+    }
+
+    private final AuthService authService;
+    private final UserActivityService userActivityService;
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
+
+    public BearerTokenAuthenticationFilter(AuthService authService, UserActivityService userActivityService) {
+        this.authService = authService;
+        this.userActivityService = userActivityService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            Optional<User> user = authService.getUserByToken(authHeader.substring(BEARER_PREFIX.length()));
+            if (user.isPresent()) {
+                SecurityContext context = SecurityContextHolder.createEmptyContext();
+                context.setAuthentication(new UserAuthentication(user.get()));
+                SecurityContextHolder.setContext(context);
+                securityContextRepository.saveContext(context, request, response);
+                userActivityService.recordSeen(user.get().getId());
+            }
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,281 @@
+package com.jirabot.filter;
+
+import com.jirabot.entity.IdempotencyRecord;
+import com.jirabot.entity.User;
+import com.jirabot.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.Part;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Honours the Idempotency-Key header on mutating /projects endpoints. The
+ * first request with a key is executed and its response stored; repeats of
+ * the same request get that response replayed (marked with
+ * {@code Idempotent-Replayed: true}) without calling JIRA again. A repeat
+ * while the first is still running gets 409, and a key reused for a
+ * different request (method, target or body) gets 422. Streaming (SSE) uploads are not covered.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyFilter.class);
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final String RECORD_ATTRIBUTE = IdempotencyFilter.class.getName() + ".record";
+    private static final Set<String> MUTATING_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Reactive handlers finish in an async dispatch, which is where their response is stored
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            chain.doFilter(request, response);
+            finish(request, response);
+            return;
+        }
+
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key == null || key.isBlank() || !applies(request) || !idempotencyService.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            writeText(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be at most 255 characters");
+            return;
+        }
+
+        // Keys are scoped per user, which the security filter chain has already resolved
+        Optional<User> user = UserAuthentication.currentUser();
+        if (user.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        MessageDigest fingerprint = sha256();
+        request = readBody(request, fingerprint);
+        IdempotencyService.Claim claim = idempotencyService.begin(user.get().getId(), key,
+                HexFormat.of().formatHex(fingerprint.digest()));
+        switch (claim.getOutcome()) {
+            case REPLAY -> replay(claim.getRecord(), response);
+            case IN_PROGRESS -> writeText(response, HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still being processed");
+            case MISMATCH -> writeText(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "This Idempotency-Key was already used for a different request");
+            case STARTED -> {
+                request.setAttribute(RECORD_ATTRIBUTE, claim.getRecord());
+                ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+                try {
+                    chain.doFilter(request, wrapper);
+                } catch (IOException | ServletException | RuntimeException e) {
+                    request.removeAttribute(RECORD_ATTRIBUTE);
+                    idempotencyService.release(claim.getRecord());
+                    throw e;
+                }
+                finish(request, wrapper);
+            }
+        }
+    }
+
+    /**
+     * Stores the response once the request is complete, i.e. not while an
+     * async handler is still running
+     */
+    private void finish(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        IdempotencyRecord record = (IdempotencyRecord) request.getAttribute(RECORD_ATTRIBUTE);
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response,
+                ContentCachingResponseWrapper.class);
+        if (record == null || wrapper == null) {
+            return;
+        }
+        request.removeAttribute(RECORD_ATTRIBUTE);
+        try {
+            idempotencyService.complete(record, wrapper.getStatus(), wrapper.getContentType(),
+                    wrapper.getHeader(HttpHeaders.LOCATION), wrapper.getContentAsByteArray());
+        } catch (RuntimeException e) {
+            logger.warn("Could not store response for idempotency key {}: {}", record.getIdempotencyKey(),
+                    e.getMessage());
+            idempotencyService.release(record);
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void replay(IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.getResponseStatus());
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        if (record.getLocation() != null) {
+            response.setHeader(HttpHeaders.LOCATION, record.getLocation());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getResponseBody() != null) {
+            byte[] body = record.getResponseBody().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private boolean applies(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return MUTATING_METHODS.contains(request.getMethod())
+                && path.startsWith("/projects/")
+                && !path.endsWith("/stream");
+    }
+
+    /**
+     * Adds the method, target and body of the request to the fingerprint, so
+     * a key reused with a different body is detected. Multipart bodies are
+     * hashed part by part from the container's parsed parts, which the handler
+     * reads again; other bodies are read into memory and replayed to the
+     * handler through the returned request.
+     */
+    private HttpServletRequest readBody(HttpServletRequest request, MessageDigest fingerprint)
+            throws IOException, ServletException {
+        update(fingerprint, request.getMethod() + " " + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : ""));
+
+        String contentType = request.getContentType();
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("multipart/")) {
+            for (Part part : request.getParts()) {
+                update(fingerprint, part.getName());
+                update(fingerprint, String.valueOf(part.getSubmittedFileName()));
+                try (InputStream in = part.getInputStream();
+                        OutputStream digest = new DigestOutputStream(OutputStream.nullOutputStream(), fingerprint)) {
+                    in.transferTo(digest);
+                }
+            }
+            return request;
+        }
+        byte[] body = request.getInputStream().readAllBytes();
+        fingerprint.update(body);
+        return new CachedBodyRequest(request, body);
+    }
+
+    // Length-prefixed, so adjacent values cannot run into each other
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A request whose body was already read, served again from memory
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("The body has already been read");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+
+    private void writeText(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write(message);
+    }
+}
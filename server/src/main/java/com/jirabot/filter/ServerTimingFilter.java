@@ -0,0 +1,213 @@
+package com.jirabot.filter;
+
+import com.jirabot.service.RequestTimings;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Times each request to the project, RICEFW and auth endpoints and breaks the
+ * time down by {@link RequestTimings.Phase}. The breakdown is sent as a
+ * {@code Server-Timing} header just before the response body starts, so it
+ * covers everything up to the first byte, and the complete breakdown is
+ * written as one logfmt line to the {@code com.jirabot.access} logger once
+ * the request (including any async part) has finished.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("com.jirabot.access");
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+    private static final String TIMINGS_ATTRIBUTE = ServerTimingFilter.class.getName() + ".timings";
+    private static final List<String> TIMED_PATHS = List.of("/projects", "/ricefw", "/auth");
+
+    @Value("${app.server-timing.enabled:true}")
+    private boolean serverTimingEnabled;
+
+    @Value("${app.access-log.enabled:true}")
+    private boolean accessLogEnabled;
+
+    @Value("${app.cors.allowed-origins:http://localhost:3000,http://localhost:5173,http://localhost:5174}")
+    private String allowedOriginsString;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!serverTimingEnabled && !accessLogEnabled) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return TIMED_PATHS.stream().noneMatch(prefix -> path.equals(prefix) || path.startsWith(prefix + "/"));
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // Reactive handlers serialize their result in an async dispatch, which is timed as well
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            // The response is still the wrapper from the first dispatch; the async listener logs the request
+            RequestTimings previous = RequestTimings.attach((RequestTimings) request.getAttribute(TIMINGS_ATTRIBUTE));
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                RequestTimings.restore(previous);
+            }
+            return;
+        }
+
+        RequestTimings timings = new RequestTimings();
+        request.setAttribute(TIMINGS_ATTRIBUTE, timings);
+        HttpServletResponse timedResponse = serverTimingEnabled ? new ServerTimingResponse(response, timings)
+                : response;
+
+        // Browsers only expose Server-Timing to pages of origins allowed to see it
+        String origin = request.getHeader("Origin");
+        if (serverTimingEnabled && origin != null
+                && Arrays.asList(allowedOriginsString.split(",")).contains(origin)) {
+            response.setHeader("Timing-Allow-Origin", origin);
+        }
+
+        RequestTimings previous = RequestTimings.attach(timings);
+        try {
+            chain.doFilter(request, timedResponse);
+        } finally {
+            RequestTimings.restore(previous);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AccessLogListener(request, timings));
+            } else {
+                if (timedResponse instanceof ServerTimingResponse timed) {
+                    // Responses without a body (e.g. 204) still get the header
+                    timed.addServerTiming();
+                }
+                logAccess(request, response.getStatus(), timings, null);
+            }
+        }
+    }
+
+    private void logAccess(HttpServletRequest request, int status, RequestTimings timings, String outcome) {
+        if (!accessLogEnabled || !accessLog.isInfoEnabled()) {
+            return;
+        }
+        accessLog.info(String.format(Locale.ROOT, "method=%s path=\"%s\" status=%d total_ms=%.1f %s%s",
+                request.getMethod(), request.getRequestURI(), status, timings.elapsedMillis(),
+                timings.toLogFields(), outcome != null ? " outcome=" + outcome : ""));
+    }
+
+    /**
+     * Logs async requests (reactive, streaming and SSE responses) once they end
+     */
+    private class AccessLogListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final RequestTimings timings;
+
+        private AccessLogListener(HttpServletRequest request, RequestTimings timings) {
+            this.request = request;
+            this.timings = timings;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            int status = event.getSuppliedResponse() instanceof HttpServletResponse response
+                    ? response.getStatus()
+                    : 0;
+            logAccess(request, status, timings, null);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            logAccess(request, 503, timings, "timeout");
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            logAccess(request, 500, timings, "error");
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    /**
+     * Adds the Server-Timing header when the body is first opened (or the
+     * response is flushed or ends without one), i.e. the last moment before
+     * the headers are committed
+     */
+    private static class ServerTimingResponse extends HttpServletResponseWrapper {
+        private final RequestTimings timings;
+        private final AtomicBoolean added = new AtomicBoolean();
+
+        private ServerTimingResponse(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        void addServerTiming() {
+            if (!isCommitted() && added.compareAndSet(false, true)) {
+                setHeader(SERVER_TIMING_HEADER, timings.toServerTiming());
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addServerTiming();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addServerTiming();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addServerTiming();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addServerTiming();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addServerTiming();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            addServerTiming();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.jirabot.filter;
+
+import com.jirabot.entity.User;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Authentication of a request made with a valid session token. The principal
+ * is the {@link User} the token belongs to and the name is the username, which
+ * JPA auditing records as created/updated by.
+ */
+public class UserAuthentication extends AbstractAuthenticationToken {
+
+    private final User user;
+
+    public UserAuthentication(User user) {
+        super(AuthorityUtils.createAuthorityList("ROLE_USER"));
+        this.user = user;
+        setAuthenticated(true);
+    }
+
+    /**
+     * User authenticated for the current request, if any
+     */
+    public static Optional<User> currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication instanceof UserAuthentication userAuthentication) {
+            return Optional.of(userAuthentication.user);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public User getPrincipal() {
+        return user;
+    }
+
+    @Override
+    public Object getCredentials() {
+        // The session token is not kept once the request is authenticated
+        return null;
+    }
+
+    @Override
+    public String getName() {
+        return user.getUsername();
+    }
+}
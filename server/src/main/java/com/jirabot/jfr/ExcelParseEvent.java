@@ -0,0 +1,33 @@
+package com.jirabot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One streaming pass over the first sheet of an uploaded workbook
+ */
+@Name("com.jirabot.ExcelParse")
+@Label("Excel Parse")
+@Category({ "JIRA Bot", "Excel" })
+@Description("SAX pass over an uploaded workbook")
+@StackTrace(false)
+public class ExcelParseEvent extends jdk.jfr.Event {
+
+    @Label("File Size")
+    @DataAmount
+    public long fileBytes;
+
+    @Label("Rows")
+    @Description("Valid rows handed to the row handler")
+    public int rows;
+
+    @Label("Row Handler Time")
+    @Description("Part of the duration spent in the row handler rather than parsing")
+    @Timespan
+    public long rowHandlerTime;
+}
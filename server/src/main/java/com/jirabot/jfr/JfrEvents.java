@@ -0,0 +1,24 @@
+package com.jirabot.jfr;
+
+/**
+ * Runtime switch for the application's Flight Recorder events. While off (the
+ * default) no events are created at all; while on they are committed to any
+ * running recording, e.g. one started with {@code -XX:StartFlightRecording}
+ * or {@code jcmd <pid> JFR.start}. Toggled with {@code app.jfr.events.enabled}
+ * at startup and through the {@code jfrevents} actuator endpoint at runtime.
+ */
+public final class JfrEvents {
+
+    private static volatile boolean enabled;
+
+    private JfrEvents() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        JfrEvents.enabled = enabled;
+    }
+}
@@ -0,0 +1,53 @@
+package com.jirabot.jfr;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/jfrevents}: GET shows whether the application's Flight
+ * Recorder events are emitted, POST {@code {"enabled": true}} switches them
+ * on or off without a restart. Both need the operator login (see
+ * {@code SecurityConfig}).
+ */
+@Component
+@Endpoint(id = "jfrevents")
+public class JfrEventsEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrEventsEndpoint.class);
+
+    private static final List<String> EVENTS = List.of(
+            "com.jirabot.JiraCall",
+            "com.jirabot.JiraBulkChunk",
+            "com.jirabot.JiraBulkImport",
+            "com.jirabot.ExcelParse",
+            "com.jirabot.TicketQuery");
+
+    @Value("${app.jfr.events.enabled:false}")
+    private boolean enabledAtStartup;
+
+    @PostConstruct
+    void init() {
+        JfrEvents.setEnabled(enabledAtStartup);
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of("enabled", JfrEvents.isEnabled(), "events", EVENTS);
+    }
+
+    @WriteOperation
+    public Map<String, Object> setEnabled(boolean enabled) {
+        JfrEvents.setEnabled(enabled);
+        logger.info("JFR events {}", enabled ? "enabled" : "disabled");
+        return status();
+    }
+}
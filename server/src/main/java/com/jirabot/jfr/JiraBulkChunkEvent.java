@@ -0,0 +1,34 @@
+package com.jirabot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One chunk of a bulk creation sent to JIRA by a creator worker, from the
+ * moment it holds a domain permit until the chunk's rows are final
+ */
+@Name("com.jirabot.JiraBulkChunk")
+@Label("JIRA Bulk Chunk")
+@Category({ "JIRA Bot", "JIRA" })
+@Description("Rows of a bulk upload created in one JIRA request")
+@StackTrace(false)
+public class JiraBulkChunkEvent extends jdk.jfr.Event {
+
+    @Label("Project Key")
+    public String projectKey;
+
+    @Label("Domain")
+    public String domain;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Created")
+    public int created;
+
+    @Label("Failed")
+    public int failed;
+}
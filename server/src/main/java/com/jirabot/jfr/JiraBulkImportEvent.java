@@ -0,0 +1,40 @@
+package com.jirabot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A whole bulk creation: reading the upload and creating its rows
+ */
+@Name("com.jirabot.JiraBulkImport")
+@Label("JIRA Bulk Import")
+@Category({ "JIRA Bot", "JIRA" })
+@Description("Bulk issue creation from an uploaded workbook")
+@StackTrace(false)
+public class JiraBulkImportEvent extends jdk.jfr.Event {
+
+    @Label("Project Key")
+    public String projectKey;
+
+    @Label("Domain")
+    public String domain;
+
+    @Label("Rows Read")
+    public int rowsRead;
+
+    @Label("Succeeded")
+    public int succeeded;
+
+    @Label("Failed")
+    public int failed;
+
+    @Label("Already Created")
+    @Description("Rows an earlier run of the same import had created")
+    public int alreadyCreated;
+
+    @Label("Cancelled")
+    public boolean cancelled;
+}
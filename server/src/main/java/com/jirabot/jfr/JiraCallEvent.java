@@ -0,0 +1,41 @@
+package com.jirabot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One HTTP call to the JIRA REST API. The duration runs until the response
+ * headers arrived; the event is committed once the body has been read.
+ */
+@Name("com.jirabot.JiraCall")
+@Label("JIRA Call")
+@Category({ "JIRA Bot", "JIRA" })
+@Description("HTTP call to the JIRA REST API")
+@StackTrace(false)
+public class JiraCallEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Domain")
+    public String domain;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Status")
+    @Description("HTTP status, or 0 when no response was received")
+    public int status;
+
+    @Label("Request Size")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Size")
+    @DataAmount
+    public long responseBytes;
+}
@@ -0,0 +1,27 @@
+package com.jirabot.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * One RICEFW ticket repository call
+ */
+@Name("com.jirabot.TicketQuery")
+@Label("RICEFW Ticket Query")
+@Category({ "JIRA Bot", "Database" })
+@Description("Query on the RICEFW ticket repository")
+public class TicketQueryEvent extends jdk.jfr.Event {
+
+    @Label("Query")
+    @Description("Repository method")
+    public String query;
+
+    @Label("Rows")
+    @Description("Entities returned, or -1 for scalar results")
+    public int rows;
+
+    @Label("Failed")
+    public boolean failed;
+}
@@ -0,0 +1,57 @@
+package com.jirabot.jfr;
+
+import jakarta.persistence.Entity;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Emits a {@link TicketQueryEvent} for every RICEFW ticket repository call
+ * while JFR events are enabled
+ */
+@Aspect
+@Component
+public class TicketQueryEventAspect {
+
+    @Around("execution(* com.jirabot.repository.RicefwTicketRepository.*(..))")
+    public Object recordQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!JfrEvents.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        TicketQueryEvent event = new TicketQueryEvent();
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.rows = rowCount(result);
+            return result;
+        } catch (Throwable e) {
+            event.failed = true;
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.query = joinPoint.getSignature().getName();
+                event.commit();
+            }
+        }
+    }
+
+    private int rowCount(Object result) {
+        if (result instanceof Collection<?> rows) {
+            return rows.size();
+        }
+        if (result instanceof Slice<?> page) {
+            return page.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> row) {
+            return row.isPresent() ? 1 : 0;
+        }
+        return result != null && result.getClass().isAnnotationPresent(Entity.class) ? 1 : -1;
+    }
+}
@@ -0,0 +1,13 @@
+package com.jirabot.repository;
+
+import com.jirabot.entity.BulkImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BulkImportRepository extends JpaRepository<BulkImport, Long> {
+
+    Optional<BulkImport> findByUserIdAndProjectKeyAndFileHash(Long userId, String projectKey, String fileHash);
+}
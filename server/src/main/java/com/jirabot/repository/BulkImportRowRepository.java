@@ -0,0 +1,25 @@
+package com.jirabot.repository;
+
+import com.jirabot.entity.BulkImportRow;
+import com.jirabot.entity.BulkImportRowState;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BulkImportRowRepository extends JpaRepository<BulkImportRow, Long> {
+
+    List<BulkImportRow> findByBulkImportIdAndRowNumberIn(Long bulkImportId, Collection<Integer> rowNumbers);
+
+    // Row number and issue key of every row already created, without loading the entities
+    @Query("SELECT r.rowNumber, r.issueKey FROM BulkImportRow r WHERE r.bulkImport.id = :importId AND r.state = :state")
+    List<Object[]> findRowKeys(@Param("importId") Long importId, @Param("state") BulkImportRowState state);
+
+    // Row number and error message of every row in the given state
+    @Query("SELECT r.rowNumber, r.errorMessage FROM BulkImportRow r WHERE r.bulkImport.id = :importId AND r.state = :state")
+    List<Object[]> findRowErrors(@Param("importId") Long importId, @Param("state") BulkImportRowState state);
+}
@@ -0,0 +1,59 @@
+package com.jirabot.repository;
+
+import com.jirabot.entity.JiraWrite;
+import com.jirabot.entity.JiraWriteState;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JiraWriteRepository extends JpaRepository<JiraWrite, Long> {
+
+    Optional<JiraWrite> findByIdAndUserId(Long id, Long userId);
+
+    // Due writes, locked with SELECT ... FOR UPDATE SKIP LOCKED (lock timeout -2) so concurrent
+    // workers, also on other instances, each claim different rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT w FROM JiraWrite w WHERE w.state IN :states AND w.nextAttemptAt <= :now ORDER BY w.nextAttemptAt")
+    List<JiraWrite> findDueForUpdate(@Param("states") Collection<JiraWriteState> states,
+            @Param("now") LocalDateTime now, Pageable pageable);
+
+    long countByState(JiraWriteState state);
+
+    // The outcome of an attempt is only recorded while the attempt still holds the lease
+    @Modifying
+    @Query("UPDATE JiraWrite w SET w.state = :state, w.resultKey = :resultKey, w.lastError = NULL, "
+            + "w.completedAt = :now, w.updatedAt = :now, w.lease = NULL WHERE w.id = :id AND w.lease = :lease")
+    int markSucceeded(@Param("id") Long id, @Param("lease") String lease, @Param("state") JiraWriteState state,
+            @Param("resultKey") String resultKey, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE JiraWrite w SET w.nextAttemptAt = :leasedUntil, w.updatedAt = :now "
+            + "WHERE w.id = :id AND w.lease = :lease")
+    int renewLease(@Param("id") Long id, @Param("lease") String lease,
+            @Param("leasedUntil") LocalDateTime leasedUntil, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE JiraWrite w SET w.state = :state, w.lastError = :lastError, w.nextAttemptAt = :nextAttemptAt, "
+            + "w.completedAt = :completedAt, w.updatedAt = :now, w.lease = NULL WHERE w.id = :id AND w.lease = :lease")
+    int markFailed(@Param("id") Long id, @Param("lease") String lease, @Param("state") JiraWriteState state,
+            @Param("lastError") String lastError, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("completedAt") LocalDateTime completedAt, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM JiraWrite w WHERE w.state = :state AND w.completedAt < :before")
+    int deleteCompletedBefore(@Param("state") JiraWriteState state, @Param("before") LocalDateTime before);
+}
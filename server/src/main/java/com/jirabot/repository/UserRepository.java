@@ -2,11 +2,14 @@ package com.jirabot.repository;
 
 import com.jirabot.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -28,6 +31,32 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.token = :token AND u.tokenExpiry > :now AND u.isActive = true")
     Optional<User> findByValidToken(@Param("token") String token, @Param("now") LocalDateTime now);
 
-    @Query("UPDATE User u SET u.lastLogin = :loginTime WHERE u.id = :userId")
-    void updateLastLogin(@Param("userId") Long userId, @Param("loginTime") LocalDateTime loginTime);
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.lastLogin = :loginTime WHERE u.id IN :userIds "
+            + "AND (u.lastLogin IS NULL OR u.lastLogin < :loginTime)")
+    int updateLastLogin(@Param("userIds") Collection<Long> userIds, @Param("loginTime") LocalDateTime loginTime);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.lastSeen = :seenAt WHERE u.id IN :userIds "
+            + "AND (u.lastSeen IS NULL OR u.lastSeen < :seenAt)")
+    int updateLastSeen(@Param("userIds") Collection<Long> userIds, @Param("seenAt") LocalDateTime seenAt);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.atlassianDomain = :domain WHERE u.id IN :userIds "
+            + "AND (u.atlassianDomain IS NULL OR u.atlassianDomain = '')")
+    int updateAtlassianDomainIfUnset(@Param("userIds") Collection<Long> userIds, @Param("domain") String domain);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.token = :token, u.tokenExpiry = :tokenExpiry WHERE u.id = :userId")
+    int updateSessionToken(@Param("userId") Long userId, @Param("token") String token,
+            @Param("tokenExpiry") LocalDateTime tokenExpiry);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :userId")
+    int updatePassword(@Param("userId") Long userId, @Param("password") String password);
 }
@@ -8,13 +8,14 @@ import com.jirabot.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @Service
 @Transactional
@@ -26,8 +27,27 @@ public class AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
+    @Autowired
+    private JiraSessionRegistry jiraSessionRegistry;
+
+    @Autowired
+    private SessionTokenCache sessionTokenCache;
+
+    @Autowired
+    private SignedTokenService signedTokenService;
+
+    @Autowired
+    private UserActivityService userActivityService;
+
+    /**
+     * Runs outside a transaction so no database connection is held while the
+     * password is hashed
+     *
+     * @throws RejectedExecutionException if password hashing is saturated
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse signup(SignupRequest request) {
         try {
             // Check if username already exists
@@ -40,20 +60,25 @@ public class AuthService {
                 return AuthResponse.error("Email already exists");
             }
 
-            // Generate session token for the new user
-            String sessionToken = UUID.randomUUID().toString();
+            // Generate session token for the new user; signed tokens need the user id and are issued after saving
+            String sessionToken = signedTokenService.isEnabled() ? null : UUID.randomUUID().toString();
 
             // Create new user
             User user = new User();
             user.setUsername(request.getUsername());
             user.setEmail(request.getEmail());
-            user.setPassword(passwordEncoder.encode(request.getPassword()));
-            user.setToken(sessionToken); // Session token for authentication
+            user.setPassword(passwordHashingService.encode(request.getPassword()));
+            if (sessionToken != null) {
+                user.setToken(sessionToken); // Session token for authentication
+                user.setTokenExpiry(LocalDateTime.now().plusDays(30)); // Token valid for 30 days
+            }
             user.setJiraToken(request.getToken()); // User's JIRA token
-            user.setTokenExpiry(LocalDateTime.now().plusDays(30)); // Token valid for 30 days
             user.setIsActive(true);
 
             User savedUser = userRepository.save(user);
+            if (sessionToken == null) {
+                sessionToken = signedTokenService.issue(savedUser.getId());
+            }
 
             logger.info("User created successfully: {}", savedUser.getUsername());
 
@@ -64,12 +89,21 @@ public class AuthService {
                     sessionToken,
                     savedUser.getJiraToken());
 
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error during signup: ", e);
             return AuthResponse.error("An error occurred during signup");
         }
     }
 
+    /**
+     * Runs outside a transaction so no database connection is held while the
+     * password is checked
+     *
+     * @throws RejectedExecutionException if password hashing is saturated
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AuthResponse login(LoginRequest request) {
         try {
             Optional<User> userOptional = userRepository.findActiveUserByUsername(request.getUsername());
@@ -80,17 +114,30 @@ public class AuthService {
 
             User user = userOptional.get();
 
-            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+            PasswordHashingService.Verification verification = passwordHashingService.verify(request.getPassword(),
+                    user.getPassword());
+            if (!verification.matches()) {
                 return AuthResponse.error("Invalid username or password");
             }
+            if (verification.getUpgradedHash() != null) {
+                userRepository.updatePassword(user.getId(), verification.getUpgradedHash());
+                logger.info("Upgraded password hash cost for user: {}", user.getUsername());
+            }
 
-            // Generate new token for login session
-            String sessionToken = UUID.randomUUID().toString();
-            user.setToken(sessionToken);
-            user.setTokenExpiry(LocalDateTime.now().plusDays(30));
-            user.setLastLogin(LocalDateTime.now());
-
-            userRepository.save(user);
+            String sessionToken;
+            if (signedTokenService.isEnabled()) {
+                // Signed tokens are not stored; other sessions stay valid until they expire or are revoked
+                sessionToken = signedTokenService.issue(user.getId());
+            } else {
+                // Generate new token for login session; the previous one stops working. Only the token
+                // columns are written; the rest of the row is unchanged
+                sessionToken = UUID.randomUUID().toString();
+                userRepository.updateSessionToken(user.getId(), sessionToken, LocalDateTime.now().plusDays(30));
+                // After the update has committed, so the old token cannot be cached again
+                sessionTokenCache.invalidate(user.getToken());
+            }
+            // Bookkeeping only, written behind
+            userActivityService.recordLogin(user.getId(), LocalDateTime.now());
 
             logger.info("User logged in successfully: {}", user.getUsername());
 
@@ -101,6 +148,8 @@ public class AuthService {
                     sessionToken,
                     user.getJiraToken());
 
+        } catch (RejectedExecutionException e) {
+            throw e;
         } catch (Exception e) {
             logger.error("Error during login: ", e);
             return AuthResponse.error("An error occurred during login");
@@ -109,8 +158,7 @@ public class AuthService {
 
     public boolean validateToken(String token) {
         try {
-            Optional<User> userOptional = userRepository.findByValidToken(token, LocalDateTime.now());
-            return userOptional.isPresent();
+            return findUserByValidToken(token).isPresent();
         } catch (Exception e) {
             logger.error("Error validating token: ", e);
             return false;
@@ -119,22 +167,48 @@ public class AuthService {
 
     public Optional<User> getUserByToken(String token) {
         try {
-            return userRepository.findByValidToken(token, LocalDateTime.now());
+            return findUserByValidToken(token);
         } catch (Exception e) {
             logger.error("Error getting user by token: ", e);
             return Optional.empty();
         }
     }
 
+    private Optional<User> findUserByValidToken(String token) {
+        if (SignedTokenService.isSignedToken(token)) {
+            // Signature, expiry and revocation are checked without the database on every call;
+            // only the user row is loaded, by id, when it is not cached yet
+            return signedTokenService.verify(token)
+                    .flatMap(claims -> sessionTokenCache.get(token, claims.getExpiresAt(),
+                            key -> userRepository.findById(claims.getUserId())
+                                    .filter(user -> Boolean.TRUE.equals(user.getIsActive()))));
+        }
+        return sessionTokenCache.get(token,
+                key -> userRepository.findByValidToken(key, LocalDateTime.now()));
+    }
+
     public AuthResponse logout(String token) {
         try {
+            if (SignedTokenService.isSignedToken(token)) {
+                Optional<SignedTokenService.TokenClaims> claims = signedTokenService.verify(token);
+                if (claims.isEmpty()) {
+                    return AuthResponse.error("Invalid token");
+                }
+                signedTokenService.revoke(claims.get());
+                sessionTokenCache.invalidate(token);
+                jiraSessionRegistry.invalidate(claims.get().getUserId());
+
+                logger.info("User id {} logged out successfully", claims.get().getUserId());
+                return AuthResponse.success("Logout successful", null, null, null);
+            }
+
             Optional<User> userOptional = userRepository.findByToken(token);
 
             if (userOptional.isPresent()) {
                 User user = userOptional.get();
-                user.setToken(null);
-                user.setTokenExpiry(null);
-                userRepository.save(user);
+                userRepository.updateSessionToken(user.getId(), null, null);
+                sessionTokenCache.invalidate(token);
+                jiraSessionRegistry.invalidate(user.getId());
 
                 logger.info("User logged out successfully: {}", user.getUsername());
                 return AuthResponse.success("Logout successful", null, null, null);
@@ -148,9 +222,45 @@ public class AuthService {
         }
     }
 
+    /**
+     * Ends every session of the user: revokes all signed tokens issued so far
+     * and clears the stored session token
+     */
+    public AuthResponse logoutEverywhere(User user) {
+        try {
+            if (signedTokenService.isEnabled()) {
+                signedTokenService.revokeAll(user.getId());
+            }
+            userRepository.updateSessionToken(user.getId(), null, null);
+            sessionTokenCache.invalidateUser(user.getId());
+            jiraSessionRegistry.invalidate(user.getId());
+
+            logger.info("User logged out of all sessions: {}", user.getUsername());
+            return AuthResponse.success("Logged out of all sessions", null, null, null);
+
+        } catch (Exception e) {
+            logger.error("Error during logout of all sessions: ", e);
+            return AuthResponse.error("An error occurred during logout");
+        }
+    }
+
+    /**
+     * Remembers the Atlassian domain of a user who has none yet. It is stored
+     * by the next write-behind flush, which also drops the user's cached
+     * session tokens so later requests load it; the cached user itself is
+     * shared between requests and is not modified.
+     */
+    public void rememberAtlassianDomain(User user, String domain) {
+        userActivityService.recordAtlassianDomain(user.getId(), domain);
+    }
+
     public User updateUser(User user) {
         try {
             User updatedUser = userRepository.save(user);
+
+            // The cached JIRA session and session token entries may hold outdated values
+            sessionTokenCache.invalidateUser(updatedUser.getId());
+            jiraSessionRegistry.invalidate(updatedUser.getId());
             logger.info("User updated successfully: {}", updatedUser.getUsername());
             return updatedUser;
         } catch (Exception e) {
@@ -0,0 +1,369 @@
+package com.jirabot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jirabot.dto.BulkImportJobStatus;
+import com.jirabot.dto.BulkIssueCreationResponse;
+import com.jirabot.dto.CreateIssueRequest;
+import com.jirabot.service.JiraMetadataService.ProjectMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs bulk imports in the background so the upload request returns
+ * immediately with a job id. Jobs run on the bounded bulk import executor;
+ * their progress can be polled until {@code app.jira.bulk.jobs.retention-minutes}
+ * after they finish.
+ */
+@Service
+public class BulkImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportJobService.class);
+
+    // Reported when the bulk executor has no room for the import's creators
+    private static final String TOO_MANY_IMPORTS = "Too many bulk imports are running. Please try again later.";
+
+    public enum JobState {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    @Autowired
+    private JiraService jiraService;
+
+    @Autowired
+    private ExcelProcessingService excelProcessingService;
+
+    @Autowired
+    private BulkImportLedgerService bulkImportLedgerService;
+
+    @Autowired
+    @Qualifier("bulkImportExecutor")
+    private ExecutorService bulkImportExecutor;
+
+    @Value("${app.jira.bulk.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${app.jira.bulk.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    private Cache<String, BulkImportJob> jobs;
+
+    @PostConstruct
+    void init() {
+        // Unfinished jobs never expire; finished ones are kept for the retention period
+        jobs = Caffeine.newBuilder()
+                .expireAfter(new Expiry<String, BulkImportJob>() {
+                    @Override
+                    public long expireAfterCreate(String id, BulkImportJob job, long currentTime) {
+                        return job.isFinished() ? TimeUnit.MINUTES.toNanos(retentionMinutes) : Long.MAX_VALUE;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String id, BulkImportJob job, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(id, job, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String id, BulkImportJob job, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * A background bulk import. Collects row outcomes as they arrive so the
+     * status endpoint can report partial results.
+     */
+    public static final class BulkImportJob implements BulkProgressListener {
+        private final String id = UUID.randomUUID().toString();
+        private final Long userId;
+        private final String projectKey;
+        private final String fileName;
+        // Uploaded workbook, deleted when the job finishes
+        private final Path workbook;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final List<String> createdIssueKeys = new ArrayList<>();
+        private final List<BulkIssueCreationResponse.BulkIssueError> errors = new ArrayList<>();
+        private volatile JobState state = JobState.QUEUED;
+        private volatile boolean cancelRequested;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String message;
+        private volatile BulkIssueCreationResponse result;
+        private volatile Future<?> future;
+
+        private BulkImportJob(Long userId, String projectKey, String fileName, Path workbook) {
+            this.userId = userId;
+            this.projectKey = projectKey;
+            this.fileName = fileName;
+            this.workbook = workbook;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getProjectKey() {
+            return projectKey;
+        }
+
+        public JobState getState() {
+            return state;
+        }
+
+        public boolean isFinished() {
+            return state == JobState.COMPLETED || state == JobState.FAILED || state == JobState.CANCELLED;
+        }
+
+        @Override
+        public synchronized void onRowCompleted(int rowNumber, String issueKey, String errorMessage,
+                CreateIssueRequest failedRequest) {
+            if (errorMessage == null) {
+                if (issueKey != null) {
+                    createdIssueKeys.add(issueKey);
+                }
+            } else {
+                errors.add(new BulkIssueCreationResponse.BulkIssueError(rowNumber, errorMessage, failedRequest));
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelRequested;
+        }
+
+        public synchronized BulkImportJobStatus toStatus() {
+            BulkImportJobStatus status = new BulkImportJobStatus();
+            status.setJobId(id);
+            status.setProjectKey(projectKey);
+            status.setFileName(fileName);
+            status.setStatus(state.name());
+            status.setMessage(message);
+            status.setSubmittedAt(submittedAt);
+            status.setStartedAt(startedAt);
+            status.setFinishedAt(finishedAt);
+
+            BulkIssueCreationResponse snapshot = result;
+            if (snapshot == null) {
+                // Partial results in row order; rows still in flight are not included yet
+                List<BulkIssueCreationResponse.BulkIssueError> sortedErrors = new ArrayList<>(errors);
+                sortedErrors.sort(Comparator.comparingInt(BulkIssueCreationResponse.BulkIssueError::getRowNumber));
+                int processed = createdIssueKeys.size() + errors.size();
+                snapshot = new BulkIssueCreationResponse(processed, createdIssueKeys.size(), errors.size(),
+                        new ArrayList<>(createdIssueKeys), sortedErrors);
+            }
+            status.setProcessed(snapshot.getTotalProcessed());
+            status.setSucceeded(snapshot.getSuccessfullyCreated());
+            status.setFailed(snapshot.getFailed());
+            status.setResult(snapshot);
+            return status;
+        }
+    }
+
+    /**
+     * Queues an import of the given workbook. The job takes ownership of the
+     * file and deletes it when it finishes.
+     *
+     * @throws RejectedExecutionException if too many imports are already queued
+     */
+    public BulkImportJob submit(Long userId, JiraSession session, String projectKey, Path workbook,
+            String fileName, ProjectMetadata metadata) {
+        BulkImportJob job = new BulkImportJob(userId, projectKey, fileName, workbook);
+        jobs.put(job.id, job);
+        try {
+            // Ledger rows are audited as the submitting user
+            job.future = bulkImportExecutor.submit(
+                    new DelegatingSecurityContextRunnable(() -> run(job, session, metadata)));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id);
+            deleteQuietly(workbook);
+            throw e;
+        }
+        logger.info("Queued bulk import job {} for project '{}' ({})", job.id, projectKey, fileName);
+        return job;
+    }
+
+    /**
+     * Runs an import of the given workbook on the bulk import executor and
+     * streams its progress instead of keeping it for polling. The file is
+     * deleted when the import finishes.
+     *
+     * @throws RejectedExecutionException if too many imports are already queued
+     */
+    public BulkProgressEmitter stream(Long userId, JiraSession session, String projectKey, Path workbook,
+            String fileName, ProjectMetadata metadata) {
+        BulkProgressEmitter progress = new BulkProgressEmitter(streamTimeoutMs);
+        try {
+            bulkImportExecutor.submit(new DelegatingSecurityContextRunnable(
+                    () -> runStreamed(progress, userId, session, projectKey, workbook, fileName, metadata)));
+        } catch (RejectedExecutionException e) {
+            deleteQuietly(workbook);
+            throw e;
+        }
+        return progress;
+    }
+
+    /**
+     * Returns the job if it belongs to the user and project
+     */
+    public Optional<BulkImportJob> getJob(String jobId, Long userId, String projectKey) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId))
+                .filter(job -> job.userId.equals(userId) && job.projectKey.equals(projectKey));
+    }
+
+    /**
+     * Requests cancellation. A queued job is dropped; a running job stops
+     * reading rows and finishes the chunks already sent to JIRA.
+     */
+    public void cancel(BulkImportJob job) {
+        job.cancelRequested = true;
+        Future<?> future = job.future;
+        if (job.state == JobState.QUEUED && future != null && future.cancel(false)) {
+            // run() will not execute, so the workbook is ours to delete
+            finish(job, JobState.CANCELLED, "Cancelled before it started", null);
+            deleteQuietly(job.workbook);
+        }
+        logger.info("Cancellation requested for bulk import job {}", job.id);
+    }
+
+    private void run(BulkImportJob job, JiraSession session, ProjectMetadata metadata) {
+        Path workbook = job.workbook;
+        if (job.cancelRequested) {
+            finish(job, JobState.CANCELLED, "Cancelled before it started", null);
+            deleteQuietly(workbook);
+            return;
+        }
+        job.state = JobState.RUNNING;
+        job.startedAt = LocalDateTime.now();
+
+        // The job only finishes after the ledger is closed, since closing it can still fail the import
+        BulkIssueCreationResponse response;
+        try (BulkImportLedgerService.Ledger ledger = openLedger(job.userId, job.projectKey, workbook, job.fileName,
+                job)) {
+            response = jiraService.createIssuesBulk(job.projectKey, session,
+                    sink -> excelProcessingService.streamExcelFile(workbook.toFile(), metadata, sink), ledger);
+        } catch (ExcelProcessingService.InvalidExcelStructureException e) {
+            finish(job, JobState.FAILED, "Invalid Excel file structure: " + e.getMessage(), null);
+            return;
+        } catch (BulkImportLedgerService.ImportInProgressException
+                | BulkImportLedgerService.LedgerWriteException e) {
+            finish(job, JobState.FAILED, e.getMessage(), null);
+            return;
+        } catch (RejectedExecutionException e) {
+            finish(job, JobState.FAILED, TOO_MANY_IMPORTS, null);
+            return;
+        } catch (Exception e) {
+            logger.error("Bulk import job {} failed: ", job.id, e);
+            finish(job, JobState.FAILED, "Error creating issues in bulk: " + e.getMessage(), null);
+            return;
+        } finally {
+            deleteQuietly(workbook);
+        }
+
+        if (job.cancelRequested) {
+            finish(job, JobState.CANCELLED, "Cancelled after " + response.getTotalProcessed() + " rows", response);
+        } else if (response.getTotalProcessed() == 0) {
+            finish(job, JobState.FAILED, "No valid issues found in the Excel file", response);
+        } else {
+            finish(job, JobState.COMPLETED, null, response);
+        }
+    }
+
+    private void runStreamed(BulkProgressEmitter progress, Long userId, JiraSession session, String projectKey,
+            Path workbook, String fileName, ProjectMetadata metadata) {
+        if (progress.isCancelled()) {
+            logger.info("Streamed bulk import of '{}' dropped, client disconnected while queued", fileName);
+            deleteQuietly(workbook);
+            return;
+        }
+        BulkIssueCreationResponse summary;
+        try (BulkImportLedgerService.Ledger ledger = openLedger(userId, projectKey, workbook, fileName, progress)) {
+            summary = jiraService.createIssuesBulk(projectKey, session,
+                    sink -> excelProcessingService.streamExcelFile(workbook.toFile(), metadata, sink), ledger);
+        } catch (ExcelProcessingService.InvalidExcelStructureException e) {
+            logger.warn("Rejected Excel upload '{}': {}", fileName, e.getMessage());
+            progress.fail("Invalid Excel file structure. Please ensure the file has the correct format.");
+            return;
+        } catch (BulkImportLedgerService.ImportInProgressException
+                | BulkImportLedgerService.LedgerWriteException e) {
+            progress.fail(e.getMessage());
+            return;
+        } catch (RejectedExecutionException e) {
+            progress.fail(TOO_MANY_IMPORTS);
+            return;
+        } catch (Exception e) {
+            logger.error("Streamed bulk import of '{}' failed: ", fileName, e);
+            progress.fail("Error creating issues in bulk: " + e.getMessage());
+            return;
+        } finally {
+            deleteQuietly(workbook);
+        }
+
+        if (summary.getTotalProcessed() == 0) {
+            progress.fail("No valid issues found in the Excel file. Please check the file format and content.");
+        } else {
+            progress.complete(summary);
+        }
+    }
+
+    private BulkImportLedgerService.Ledger openLedger(Long userId, String projectKey, Path workbook,
+            String fileName, BulkProgressListener listener) throws IOException {
+        String fileHash;
+        try (InputStream in = Files.newInputStream(workbook)) {
+            fileHash = bulkImportLedgerService.contentHash(in);
+        }
+        return bulkImportLedgerService.open(userId, projectKey, fileHash, fileName, listener);
+    }
+
+    private void finish(BulkImportJob job, JobState state, String message, BulkIssueCreationResponse result) {
+        synchronized (job) {
+            if (job.isFinished()) {
+                return;
+            }
+            job.result = result;
+            job.message = message;
+            job.finishedAt = LocalDateTime.now();
+            job.state = state;
+        }
+        // Re-insert so the retention period starts now
+        jobs.put(job.id, job);
+        logger.info("Bulk import job {} finished as {}{}", job.id, state, message != null ? ": " + message : "");
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete uploaded workbook {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.jirabot.service;
+
+import com.jirabot.dto.CreateIssueRequest;
+import com.jirabot.entity.BulkImport;
+import com.jirabot.entity.BulkImportRow;
+import com.jirabot.entity.BulkImportRowState;
+import com.jirabot.repository.BulkImportRepository;
+import com.jirabot.repository.BulkImportRowRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Makes bulk imports resumable. Each import is keyed by the SHA-256 of the
+ * workbook, and the outcome of every row is recorded as soon as its chunk
+ * is done. Uploading the same file to the same project again skips the rows
+ * already created and reports their existing keys, and reports rows whose
+ * outcome was unknown (the issue may exist) as failed without sending them;
+ * only rows that failed or were never reached are sent to JIRA.
+ */
+@Service
+@Transactional
+public class BulkImportLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportLedgerService.class);
+
+    // Longest error message kept on a row
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    @Autowired
+    private BulkImportRepository bulkImportRepository;
+
+    @Autowired
+    private BulkImportRowRepository bulkImportRowRepository;
+
+    // Transactional proxy of this service, used by ledgers to write their batches
+    @Autowired
+    @Lazy
+    private BulkImportLedgerService self;
+
+    @Value("${app.jira.bulk.resume.enabled:true}")
+    private boolean enabled;
+
+    // Imports currently running in this instance; a second run of the same file would duplicate rows
+    private final Set<Long> runningImports = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Thrown when the same workbook is already being imported into the project
+     */
+    public static class ImportInProgressException extends IllegalStateException {
+        public ImportInProgressException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Thrown when closing a ledger whose row outcomes could not all be
+     * recorded; the import was stopped at that point
+     */
+    public static class LedgerWriteException extends IllegalStateException {
+        public LedgerWriteException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Outcome of one row waiting to be written
+     */
+    public record RowOutcome(int rowNumber, String issueKey, String errorMessage, boolean outcomeUnknown) {
+    }
+
+    /**
+     * Progress listener that records each row of one import run and answers
+     * which rows earlier runs already created or left with an unknown
+     * outcome. Outcomes are written when a creator finishes a chunk, before
+     * it sends the next one, so a crash loses at most the chunks in flight.
+     * If they cannot be written the import is stopped. Must be closed when
+     * the run ends.
+     */
+    public final class Ledger implements BulkProgressListener, AutoCloseable {
+        private final Long importId;
+        private final Map<Integer, String> createdKeys;
+        private final Map<Integer, String> unknownRows;
+        private final BulkProgressListener delegate;
+        private final List<RowOutcome> pending = new ArrayList<>();
+        private volatile RuntimeException failure;
+
+        private Ledger(Long importId, Map<Integer, String> createdKeys, Map<Integer, String> unknownRows,
+                BulkProgressListener delegate) {
+            this.importId = importId;
+            this.createdKeys = createdKeys;
+            this.unknownRows = unknownRows;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onRowCompleted(int rowNumber, String issueKey, String errorMessage,
+                CreateIssueRequest failedRequest) {
+            boolean knownCreated = errorMessage == null && issueKey != null
+                    && issueKey.equals(createdKeys.get(rowNumber));
+            if (!knownCreated) {
+                record(new RowOutcome(rowNumber, issueKey, errorMessage, false));
+            }
+            delegate.onRowCompleted(rowNumber, issueKey, errorMessage, failedRequest);
+        }
+
+        @Override
+        public void onRowOutcomeUnknown(int rowNumber, String errorMessage, CreateIssueRequest request) {
+            // Rows skipped because an earlier run left them unknown keep their original error
+            if (!unknownRows.containsKey(rowNumber)) {
+                record(new RowOutcome(rowNumber, null, errorMessage, true));
+            }
+            delegate.onRowOutcomeUnknown(rowNumber, errorMessage, request);
+        }
+
+        @Override
+        public void onChunkCompleted() {
+            flush();
+            delegate.onChunkCompleted();
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return failure != null || delegate.isCancelled();
+        }
+
+        @Override
+        public boolean needsRowResults() {
+            return delegate.needsRowResults();
+        }
+
+        @Override
+        public String previouslyCreatedKey(int rowNumber) {
+            return createdKeys.get(rowNumber);
+        }
+
+        @Override
+        public String previousOutcomeUnknown(int rowNumber) {
+            return unknownRows.get(rowNumber);
+        }
+
+        /**
+         * Writes the outcomes still pending and releases the import
+         *
+         * @throws LedgerWriteException if some outcomes could not be recorded
+         */
+        @Override
+        public void close() {
+            if (importId == null) {
+                return;
+            }
+            flush();
+            runningImports.remove(importId);
+            if (failure != null) {
+                throw new LedgerWriteException("Import stopped: the progress of bulk import " + importId
+                        + " could not be recorded, so re-uploading this file may create some issues again ("
+                        + failure.getMessage() + ")", failure);
+            }
+        }
+
+        private void record(RowOutcome outcome) {
+            if (importId != null) {
+                synchronized (pending) {
+                    pending.add(outcome);
+                }
+            }
+        }
+
+        private void flush() {
+            List<RowOutcome> batch;
+            synchronized (pending) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending);
+                pending.clear();
+            }
+            try {
+                // Through the proxy, so each batch is written in one transaction
+                self.recordRows(importId, batch);
+            } catch (RuntimeException e) {
+                // Keep the outcomes for the next attempt and stop sending rows whose outcome could be lost
+                synchronized (pending) {
+                    pending.addAll(0, batch);
+                }
+                if (failure == null) {
+                    logger.error("Could not record {} rows of bulk import {}, stopping the import: {}",
+                            batch.size(), importId, e.getMessage());
+                }
+                failure = e;
+            }
+        }
+    }
+
+    /**
+     * Starts a run of the import identified by the workbook hash, creating
+     * the import on first use
+     *
+     * @throws ImportInProgressException if the same file is already being imported
+     */
+    public Ledger open(Long userId, String projectKey, String fileHash, String fileName,
+            BulkProgressListener delegate) {
+        if (!enabled) {
+            return new Ledger(null, Map.of(), Map.of(), delegate);
+        }
+        BulkImport bulkImport = bulkImportRepository
+                .findByUserIdAndProjectKeyAndFileHash(userId, projectKey, fileHash)
+                .orElseGet(() -> createImport(userId, projectKey, fileHash, fileName));
+
+        if (!runningImports.add(bulkImport.getId())) {
+            throw new ImportInProgressException("This file is already being imported into project " + projectKey);
+        }
+
+        Map<Integer, String> createdKeys = new ConcurrentHashMap<>();
+        Map<Integer, String> unknownRows = new ConcurrentHashMap<>();
+        try {
+            for (Object[] row : bulkImportRowRepository.findRowKeys(bulkImport.getId(),
+                    BulkImportRowState.CREATED)) {
+                if (row[1] != null) {
+                    createdKeys.put((Integer) row[0], (String) row[1]);
+                }
+            }
+            for (Object[] row : bulkImportRowRepository.findRowErrors(bulkImport.getId(),
+                    BulkImportRowState.UNKNOWN)) {
+                unknownRows.put((Integer) row[0], row[1] != null ? (String) row[1] : "Outcome unknown");
+            }
+            bulkImport.setRuns(bulkImport.getRuns() + 1);
+            bulkImport.setLastRunAt(LocalDateTime.now());
+            // Flushed here, not at commit, so a failing write is caught below
+            bulkImportRepository.saveAndFlush(bulkImport);
+        } catch (RuntimeException e) {
+            // No Ledger is returned to release the import, so a retry would be locked out until a restart
+            runningImports.remove(bulkImport.getId());
+            throw e;
+        }
+
+        if (!createdKeys.isEmpty() || !unknownRows.isEmpty()) {
+            logger.info("Resuming bulk import {} of '{}': {} rows were already created, {} rows with an unknown "
+                    + "outcome are not sent again", bulkImport.getId(), fileName, createdKeys.size(),
+                    unknownRows.size());
+        }
+        return new Ledger(bulkImport.getId(), createdKeys, unknownRows, delegate);
+    }
+
+    /**
+     * Writes a batch of row outcomes, updating rows recorded by earlier runs
+     */
+    public void recordRows(Long importId, List<RowOutcome> outcomes) {
+        List<Integer> rowNumbers = outcomes.stream().map(RowOutcome::rowNumber).toList();
+        Map<Integer, BulkImportRow> existing = new HashMap<>();
+        bulkImportRowRepository.findByBulkImportIdAndRowNumberIn(importId, rowNumbers)
+                .forEach(row -> existing.put(row.getRowNumber(), row));
+
+        BulkImport bulkImport = bulkImportRepository.getReferenceById(importId);
+        List<BulkImportRow> rows = new ArrayList<>(outcomes.size());
+        for (RowOutcome outcome : outcomes) {
+            BulkImportRow row = existing.computeIfAbsent(outcome.rowNumber(),
+                    n -> new BulkImportRow(bulkImport, n));
+            if (outcome.errorMessage() == null) {
+                row.setState(BulkImportRowState.CREATED);
+                row.setIssueKey(outcome.issueKey());
+                row.setErrorMessage(null);
+            } else {
+                row.setState(outcome.outcomeUnknown() ? BulkImportRowState.UNKNOWN : BulkImportRowState.FAILED);
+                row.setErrorMessage(outcome.errorMessage().length() > MAX_ERROR_LENGTH
+                        ? outcome.errorMessage().substring(0, MAX_ERROR_LENGTH)
+                        : outcome.errorMessage());
+            }
+            rows.add(row);
+        }
+        bulkImportRowRepository.saveAll(rows);
+    }
+
+    /**
+     * Hex SHA-256 of the stream's contents; the stream is read to the end
+     */
+    public String contentHash(InputStream in) throws IOException {
+        try (DigestInputStream digestStream = new DigestInputStream(in, MessageDigest.getInstance("SHA-256"))) {
+            digestStream.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(digestStream.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private BulkImport createImport(Long userId, String projectKey, String fileHash, String fileName) {
+        try {
+            return bulkImportRepository.saveAndFlush(new BulkImport(userId, projectKey, fileHash, fileName));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another upload of the same file
+            throw new ImportInProgressException("This file is already being imported into project " + projectKey);
+        }
+    }
+}
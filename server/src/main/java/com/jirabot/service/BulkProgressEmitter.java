@@ -0,0 +1,78 @@
+package com.jirabot.service;
+
+import com.jirabot.dto.BulkIssueCreationResponse;
+import com.jirabot.dto.BulkIssueProgressEvent;
+import com.jirabot.dto.CreateIssueRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Pushes bulk creation progress to a client as Server-Sent Events: a "row"
+ * event per finished row, then a "summary" event with the counts, or an
+ * "error" event if the import could not run. The import is cancelled when
+ * the client goes away.
+ */
+public class BulkProgressEmitter implements BulkProgressListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkProgressEmitter.class);
+
+    private final SseEmitter emitter;
+    private volatile boolean closed;
+
+    public BulkProgressEmitter(long timeoutMs) {
+        this.emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> closed = true);
+        emitter.onTimeout(() -> closed = true);
+        emitter.onError(e -> closed = true);
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    @Override
+    public void onRowCompleted(int rowNumber, String issueKey, String errorMessage,
+            CreateIssueRequest failedRequest) {
+        send(SseEmitter.event()
+                .name("row")
+                .id(String.valueOf(rowNumber))
+                .data(new BulkIssueProgressEvent(rowNumber, issueKey, errorMessage)));
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return closed;
+    }
+
+    @Override
+    public boolean needsRowResults() {
+        // Every row has already been sent, so the summary only carries counts
+        return false;
+    }
+
+    public void complete(BulkIssueCreationResponse summary) {
+        send(SseEmitter.event().name("summary").data(summary));
+        emitter.complete();
+    }
+
+    public void fail(String message) {
+        send(SseEmitter.event().name("error").data(message));
+        emitter.complete();
+    }
+
+    // Rows complete on several creator threads; events must not interleave
+    private synchronized void send(SseEmitter.SseEventBuilder event) {
+        if (closed) {
+            return;
+        }
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            logger.info("Bulk progress client disconnected: {}", e.getMessage());
+            closed = true;
+        }
+    }
+}
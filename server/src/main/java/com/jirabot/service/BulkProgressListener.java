@@ -0,0 +1,70 @@
+package com.jirabot.service;
+
+import com.jirabot.dto.CreateIssueRequest;
+
+/**
+ * Observes a bulk creation row by row. Callbacks arrive from the bulk worker
+ * threads as soon as each row's outcome is final, in completion order rather
+ * than row order.
+ */
+public interface BulkProgressListener {
+
+    BulkProgressListener NONE = (rowNumber, issueKey, errorMessage, failedRequest) -> {
+    };
+
+    /**
+     * Called once per row: with the created issue key, or with the error
+     * message and the request that failed
+     */
+    void onRowCompleted(int rowNumber, String issueKey, String errorMessage, CreateIssueRequest failedRequest);
+
+    /**
+     * Called instead of {@link #onRowCompleted} for a row whose create request
+     * reached JIRA without a usable answer (e.g. a read timeout), so the issue
+     * may or may not exist. Such rows are not sent again.
+     */
+    default void onRowOutcomeUnknown(int rowNumber, String errorMessage, CreateIssueRequest request) {
+        onRowCompleted(rowNumber, null, errorMessage, request);
+    }
+
+    /**
+     * Called by a creator after it has reported every row of a chunk and
+     * before it sends its next chunk
+     */
+    default void onChunkCompleted() {
+    }
+
+    /**
+     * Polled between rows and chunks; once true, no further rows are read or
+     * sent to JIRA
+     */
+    default boolean isCancelled() {
+        return false;
+    }
+
+    /**
+     * Whether the returned response should list every created key and error.
+     * Listeners that consume the rows themselves can return false so the rows
+     * are not kept until the end; the response then only carries counts.
+     */
+    default boolean needsRowResults() {
+        return true;
+    }
+
+    /**
+     * Key of the issue an earlier run of the same import created for this
+     * row, or null. Such rows are reported as created and not sent again.
+     */
+    default String previouslyCreatedKey(int rowNumber) {
+        return null;
+    }
+
+    /**
+     * Error recorded by an earlier run of the same import for a row whose
+     * outcome was unknown, or null. Such rows are reported as failed and not
+     * sent again.
+     */
+    default String previousOutcomeUnknown(int rowNumber) {
+        return null;
+    }
+}
@@ -1,23 +1,49 @@
 package com.jirabot.service;
 
 import com.jirabot.dto.CreateIssueRequest;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import com.jirabot.jfr.ExcelParseEvent;
+import com.jirabot.jfr.JfrEvents;
+import com.jirabot.service.JiraMetadataService.ProjectMetadata;
+import org.apache.poi.ooxml.POIXMLException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 @Service
 public class ExcelProcessingService {
 
     private static final Logger logger = LoggerFactory.getLogger(ExcelProcessingService.class);
 
+    // Columns A-E: Summary, Description, Issue Type, Priority, Labels
+    private static final int COLUMN_COUNT = 5;
+
     // Common JIRA issue types
     private static final List<String> VALID_ISSUE_TYPES = Arrays.asList(
             "Bug", "Task", "Story", "Epic", "Improvement", "New Feature", "Sub-task");
@@ -26,95 +52,216 @@ public class ExcelProcessingService {
     private static final List<String> VALID_PRIORITIES = Arrays.asList(
             "Lowest", "Low", "Medium", "High", "Highest");
 
-    public List<CreateIssueRequest> parseExcelFile(MultipartFile file) throws IOException {
-        List<CreateIssueRequest> issueRequests = new ArrayList<>();
+    /**
+     * Thrown when the upload is not a readable workbook with a header row
+     */
+    public static class InvalidExcelStructureException extends IOException {
+        public InvalidExcelStructureException(String message) {
+            super(message);
+        }
+
+        public InvalidExcelStructureException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    /**
+     * Reads the first sheet of the upload in a single streaming (SAX) pass:
+     * the header row is checked first and every valid data row is handed to
+     * {@code rowHandler} as soon as it has been read, so heap use does not grow
+     * with the number of rows. Returns the number of rows handed over.
+     *
+     * @throws InvalidExcelStructureException if the file is not a workbook or
+     *                                        has no header row
+     */
+    public int streamExcelFile(MultipartFile file, ProjectMetadata metadata,
+            Consumer<CreateIssueRequest> rowHandler) throws IOException {
+        Path tempFile = copyToTempFile(file);
+        try {
+            return streamExcelFile(tempFile.toFile(), metadata, rowHandler);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
 
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0); // Get the first sheet
+    /**
+     * Copies the upload to a temp file that outlives the request. Random access
+     * to the zip lets POI read the sheet without inflating the whole package in
+     * memory. The caller deletes the file.
+     */
+    public Path copyToTempFile(MultipartFile file) throws IOException {
+        Path tempFile = Files.createTempFile("bulk-upload-", ".xlsx");
+        try {
+            file.transferTo(tempFile);
+            return tempFile;
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
 
-            // Skip header row and start from row 1
-            for (int rowIndex = 1; rowIndex <= sheet.getLastRowNum(); rowIndex++) {
-                Row row = sheet.getRow(rowIndex);
-                if (row == null)
-                    continue;
+    public int streamExcelFile(File file, ProjectMetadata metadata, Consumer<CreateIssueRequest> rowHandler)
+            throws IOException {
+        IssueRowHandler handler = new IssueRowHandler(metadata, rowHandler);
+        readFirstSheet(file, handler);
 
-                CreateIssueRequest request = parseRowToIssueRequest(row, rowIndex);
-                if (request != null && isValidIssueRequest(request)) {
-                    issueRequests.add(request);
-                } else if (request != null) {
-                    logger.warn("Invalid issue request at row {}: missing required fields", rowIndex + 1);
-                }
+        if (!handler.headerSeen) {
+            throw new InvalidExcelStructureException("Excel file has no header row");
+        }
+
+        logger.info("Parsed {} valid issue requests from Excel file", handler.emitted);
+        return handler.emitted;
+    }
+
+    private void readFirstSheet(File file, IssueRowHandler handler) throws IOException {
+        ExcelParseEvent event = JfrEvents.isEnabled() ? new ExcelParseEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        long start = System.nanoTime();
+        try {
+            parseFirstSheet(file, handler);
+        } finally {
+            // Time spent handing rows over (e.g. waiting for JIRA workers) is not parsing time
+            RequestTimings.record(RequestTimings.Phase.EXCEL, System.nanoTime() - start - handler.handlerNanos);
+            if (event != null && event.shouldCommit()) {
+                event.fileBytes = file.length();
+                event.rows = handler.emitted;
+                event.rowHandlerTime = handler.handlerNanos;
+                event.commit();
             }
         }
+    }
+
+    private void parseFirstSheet(File file, IssueRowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
 
-        logger.info("Parsed {} valid issue requests from Excel file", issueRequests.size());
-        return issueRequests;
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                throw new InvalidExcelStructureException("Excel file has no sheets");
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings, handler,
+                        new DataFormatter(), false));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (InvalidExcelStructureException e) {
+            throw e;
+        } catch (OpenXML4JException | SAXException | POIXMLException | IllegalArgumentException e) {
+            throw new InvalidExcelStructureException("Unreadable Excel file: " + e.getMessage(), e);
+        } catch (ParserConfigurationException e) {
+            throw new IOException("Could not create XML parser", e);
+        }
     }
 
-    private CreateIssueRequest parseRowToIssueRequest(Row row, int rowIndex) {
+    /**
+     * Collects the first five cells of each row and turns data rows into issue
+     * requests as soon as the row ends
+     */
+    private class IssueRowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final ProjectMetadata metadata;
+        private final Consumer<CreateIssueRequest> rowHandler;
+        private final String[] cells = new String[COLUMN_COUNT];
+        private boolean headerSeen;
+        private int emitted;
+        private long handlerNanos;
+
+        private IssueRowHandler(ProjectMetadata metadata, Consumer<CreateIssueRequest> rowHandler) {
+            this.metadata = metadata;
+            this.rowHandler = rowHandler;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            Arrays.fill(cells, null);
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : -1;
+            if (column >= 0 && column < COLUMN_COUNT && formattedValue != null) {
+                cells[column] = formattedValue.trim();
+            }
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (rowNum == 0) {
+                // We expect at least one column (Summary)
+                headerSeen = Arrays.stream(cells).anyMatch(Objects::nonNull);
+                return;
+            }
+            if (!headerSeen) {
+                throw new IllegalArgumentException("Invalid Excel file structure: missing header row");
+            }
+
+            CreateIssueRequest request = parseRowToIssueRequest(cells, rowNum, metadata);
+            if (request != null && isValidIssueRequest(request)) {
+                long start = System.nanoTime();
+                try {
+                    rowHandler.accept(request);
+                } finally {
+                    handlerNanos += System.nanoTime() - start;
+                }
+                emitted++;
+            } else if (request != null) {
+                logger.warn("Invalid issue request at row {}: missing required fields", rowNum + 1);
+            }
+        }
+    }
+
+    private CreateIssueRequest parseRowToIssueRequest(String[] cells, int rowIndex, ProjectMetadata metadata) {
         try {
             CreateIssueRequest request = new CreateIssueRequest();
+            request.setRowNumber(rowIndex + 1);
 
             // Column A (0): Summary
-            Cell summaryCell = row.getCell(0);
-            if (summaryCell != null) {
-                String summary = getCellValueAsString(summaryCell);
-                request.setSummary(summary);
-                logger.debug("Row {}: Summary = '{}'", rowIndex + 1, summary);
+            if (cells[0] != null) {
+                request.setSummary(cells[0]);
+                logger.debug("Row {}: Summary = '{}'", rowIndex + 1, cells[0]);
             }
 
             // Column B (1): Description
-            Cell descriptionCell = row.getCell(1);
-            if (descriptionCell != null) {
-                String description = getCellValueAsString(descriptionCell);
-                request.setDescription(description);
-                logger.debug("Row {}: Description = '{}'", rowIndex + 1, description);
+            if (cells[1] != null) {
+                request.setDescription(cells[1]);
+                logger.debug("Row {}: Description = '{}'", rowIndex + 1, cells[1]);
             }
 
             // Column C (2): Issue Type
-            Cell issueTypeCell = row.getCell(2);
-            if (issueTypeCell != null) {
-                String issueType = getCellValueAsString(issueTypeCell);
-                if (issueType.isEmpty()) {
-                    issueType = "Task";
-                } else {
-                    // Validate and normalize issue type
-                    issueType = validateAndNormalizeIssueType(issueType);
-                }
-                request.setIssueTypeName(issueType);
-                logger.debug("Row {}: Issue Type = '{}'", rowIndex + 1, issueType);
+            String issueType = cells[2];
+            if (issueType == null || issueType.isEmpty()) {
+                issueType = "Task";
             } else {
-                request.setIssueTypeName("Task");
-                logger.debug("Row {}: Issue Type = 'Task' (default)", rowIndex + 1);
+                // Validate and normalize issue type
+                issueType = validateAndNormalizeIssueType(issueType, metadata);
             }
+            request.setIssueTypeName(issueType);
+            logger.debug("Row {}: Issue Type = '{}'", rowIndex + 1, issueType);
 
             // Column D (3): Priority
-            Cell priorityCell = row.getCell(3);
-            if (priorityCell != null) {
-                String priority = getCellValueAsString(priorityCell);
-                if (priority.isEmpty()) {
-                    priority = "Medium";
-                } else {
-                    // Validate and normalize priority
-                    priority = validateAndNormalizePriority(priority);
-                }
-                request.setPriorityName(priority);
-                logger.debug("Row {}: Priority = '{}'", rowIndex + 1, priority);
+            String priority = cells[3];
+            if (priority == null || priority.isEmpty()) {
+                priority = "Medium";
             } else {
-                request.setPriorityName("Medium");
-                logger.debug("Row {}: Priority = 'Medium' (default)", rowIndex + 1);
+                // Validate and normalize priority
+                priority = validateAndNormalizePriority(priority, issueType, metadata);
             }
+            request.setPriorityName(priority);
+            logger.debug("Row {}: Priority = '{}'", rowIndex + 1, priority);
 
             // Column E (4): Labels (comma-separated)
-            Cell labelsCell = row.getCell(4);
-            if (labelsCell != null) {
-                String labelsString = getCellValueAsString(labelsCell);
-                if (!labelsString.isEmpty()) {
-                    List<String> labels = Arrays.asList(labelsString.split(","));
-                    // Trim whitespace from labels
-                    labels = labels.stream().map(String::trim).filter(s -> !s.isEmpty()).toList();
-                    request.setLabels(labels);
-                }
+            if (cells[4] != null && !cells[4].isEmpty()) {
+                // Trim whitespace from labels
+                List<String> labels = Arrays.stream(cells[4].split(","))
+                        .map(String::trim)
+                        .filter(label -> !label.isEmpty())
+                        .toList();
+                request.setLabels(labels);
             }
 
             return request;
@@ -125,82 +272,29 @@ public class ExcelProcessingService {
         }
     }
 
-    private String getCellValueAsString(Cell cell) {
-        if (cell == null) {
-            return "";
-        }
-
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                if (DateUtil.isCellDateFormatted(cell)) {
-                    return cell.getDateCellValue().toString();
-                } else {
-                    // Convert numeric to string, removing decimal if it's a whole number
-                    double numericValue = cell.getNumericCellValue();
-                    if (numericValue == Math.floor(numericValue)) {
-                        return String.valueOf((long) numericValue);
-                    } else {
-                        return String.valueOf(numericValue);
-                    }
-                }
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            case FORMULA:
-                try {
-                    return cell.getStringCellValue().trim();
-                } catch (Exception e) {
-                    return String.valueOf(cell.getNumericCellValue());
-                }
-            default:
-                return "";
-        }
-    }
-
     private boolean isValidIssueRequest(CreateIssueRequest request) {
         // At minimum, we need a summary
         return request.getSummary() != null && !request.getSummary().trim().isEmpty();
     }
 
-    /**
-     * Validates the Excel file structure
-     * Expected columns:
-     * A: Summary (required)
-     * B: Description (optional)
-     * C: Issue Type (optional, defaults to "Task")
-     * D: Priority (optional, defaults to "Medium")
-     * E: Labels (optional, comma-separated)
-     */
-    public boolean validateExcelStructure(MultipartFile file) throws IOException {
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-
-            // Check if there's at least a header row
-            if (sheet.getLastRowNum() < 0) {
-                return false;
-            }
-
-            Row headerRow = sheet.getRow(0);
-            if (headerRow == null) {
-                return false;
-            }
-
-            // We expect at least one column (Summary)
-            return headerRow.getLastCellNum() >= 1;
-        }
-    }
-
     /**
      * Validates and normalizes issue type to match JIRA standards
      */
-    private String validateAndNormalizeIssueType(String issueType) {
+    private String validateAndNormalizeIssueType(String issueType, ProjectMetadata metadata) {
         if (issueType == null || issueType.trim().isEmpty()) {
             return "Task";
         }
 
         String normalized = issueType.trim();
 
+        // Prefer the project's own issue types, including custom ones
+        if (metadata != null) {
+            String projectType = metadata.resolveIssueType(normalized);
+            if (projectType != null) {
+                return projectType;
+            }
+        }
+
         // Check for exact match (case-insensitive)
         for (String validType : VALID_ISSUE_TYPES) {
             if (validType.equalsIgnoreCase(normalized)) {
@@ -223,6 +317,10 @@ public class ExcelProcessingService {
             case "sub task":
                 return "Sub-task";
             default:
+                if (metadata != null) {
+                    logger.warn("Issue type '{}' does not exist in project {}", issueType, metadata.getProjectKey());
+                    return normalized;
+                }
                 logger.warn("Unknown issue type '{}', defaulting to 'Task'", issueType);
                 return "Task"; // Default fallback
         }
@@ -231,13 +329,21 @@ public class ExcelProcessingService {
     /**
      * Validates and normalizes priority to match JIRA standards
      */
-    private String validateAndNormalizePriority(String priority) {
+    private String validateAndNormalizePriority(String priority, String issueType, ProjectMetadata metadata) {
         if (priority == null || priority.trim().isEmpty()) {
             return "Medium";
         }
 
         String normalized = priority.trim();
 
+        // Prefer the priorities the project allows for this issue type
+        if (metadata != null) {
+            String projectPriority = metadata.resolvePriority(issueType, normalized);
+            if (projectPriority != null) {
+                return projectPriority;
+            }
+        }
+
         // Check for exact match (case-insensitive)
         for (String validPriority : VALID_PRIORITIES) {
             if (validPriority.equalsIgnoreCase(normalized)) {
@@ -261,6 +367,10 @@ public class ExcelProcessingService {
             case "trivial":
                 return "Lowest";
             default:
+                if (metadata != null) {
+                    logger.warn("Priority '{}' is not allowed in project {}", priority, metadata.getProjectKey());
+                    return normalized;
+                }
                 logger.warn("Unknown priority '{}', defaulting to 'Medium'", priority);
                 return "Medium"; // Default fallback
         }
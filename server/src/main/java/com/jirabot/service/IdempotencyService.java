@@ -0,0 +1,178 @@
+package com.jirabot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jirabot.entity.IdempotencyRecord;
+import com.jirabot.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Stores Idempotency-Key requests and their responses in the
+ * {@code idempotency_keys} table, with a bounded in-memory cache of finished
+ * requests in front of it. A repeated request within
+ * {@code app.idempotency.retention-minutes} gets the stored response instead
+ * of being executed again.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Value("${app.idempotency.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.idempotency.retention-minutes:1440}")
+    private long retentionMinutes;
+
+    @Value("${app.idempotency.in-progress-timeout-seconds:300}")
+    private long inProgressTimeoutSeconds;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private long cacheSize;
+
+    @Value("${app.idempotency.max-body-bytes:1048576}")
+    private int maxBodyBytes;
+
+    // Finished requests only, keyed by user id and idempotency key
+    private Cache<String, IdempotencyRecord> completed;
+
+    @PostConstruct
+    void init() {
+        completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofMinutes(retentionMinutes))
+                .build();
+    }
+
+    public enum Outcome {
+        // First use of the key: execute the request and complete() it
+        STARTED,
+        // Same request finished before: replay the stored response
+        REPLAY,
+        // Same key still being executed by another request
+        IN_PROGRESS,
+        // Key already used for a different request
+        MISMATCH
+    }
+
+    public static final class Claim {
+        private final Outcome outcome;
+        private final IdempotencyRecord record;
+
+        private Claim(Outcome outcome, IdempotencyRecord record) {
+            this.outcome = outcome;
+            this.record = record;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public IdempotencyRecord getRecord() {
+            return record;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    /**
+     * Looks up the key and, if it is unused or expired, reserves it for this
+     * request. Concurrent first uses are settled by the unique constraint.
+     */
+    public Claim begin(Long userId, String key, String fingerprint) {
+        IdempotencyRecord cached = completed.getIfPresent(cacheKey(userId, key));
+        if (cached != null && cached.getExpiresAt().isAfter(LocalDateTime.now())) {
+            return matching(cached, fingerprint, Outcome.REPLAY);
+        }
+
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, key);
+        if (existing.isPresent()) {
+            IdempotencyRecord record = existing.get();
+            if (record.getExpiresAt().isAfter(LocalDateTime.now())) {
+                if (record.getCompleted()) {
+                    completed.put(cacheKey(userId, key), record);
+                    return matching(record, fingerprint, Outcome.REPLAY);
+                }
+                return matching(record, fingerprint, Outcome.IN_PROGRESS);
+            }
+            // Expired, or an attempt that never finished: the key is free again
+            idempotencyRecordRepository.delete(record);
+        }
+
+        try {
+            IdempotencyRecord record = idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(userId, key,
+                    fingerprint, LocalDateTime.now().plusSeconds(inProgressTimeoutSeconds)));
+            return new Claim(Outcome.STARTED, record);
+        } catch (DataIntegrityViolationException e) {
+            return new Claim(Outcome.IN_PROGRESS, null);
+        }
+    }
+
+    /**
+     * Stores the response of a started request for replay. Server errors,
+     * throttling and oversized bodies are not stored, so the key can be
+     * retried.
+     */
+    public void complete(IdempotencyRecord record, int status, String contentType, String location, byte[] body) {
+        if (status >= 500 || status == 429 || body.length > maxBodyBytes) {
+            release(record);
+            return;
+        }
+        record.setCompleted(true);
+        record.setResponseStatus(status);
+        record.setContentType(contentType);
+        record.setLocation(location);
+        record.setResponseBody(new String(body, StandardCharsets.UTF_8));
+        record.setExpiresAt(LocalDateTime.now().plusMinutes(retentionMinutes));
+        IdempotencyRecord saved = idempotencyRecordRepository.save(record);
+        completed.put(cacheKey(saved.getUserId(), saved.getIdempotencyKey()), saved);
+    }
+
+    /**
+     * Frees a started key without storing a response
+     */
+    public void release(IdempotencyRecord record) {
+        try {
+            idempotencyRecordRepository.deleteById(record.getId());
+        } catch (RuntimeException e) {
+            logger.warn("Could not release idempotency key {}: {}", record.getIdempotencyKey(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Claim matching(IdempotencyRecord record, String fingerprint, Outcome outcome) {
+        return new Claim(record.getRequestFingerprint().equals(fingerprint) ? outcome : Outcome.MISMATCH, record);
+    }
+
+    private String cacheKey(Long userId, String key) {
+        return userId + ":" + key;
+    }
+}
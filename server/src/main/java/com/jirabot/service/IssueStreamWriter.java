@@ -0,0 +1,74 @@
+package com.jirabot.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jirabot.service.JiraIssueStreamTransformer.IssuePage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes pages of issues to a response stream as they arrive, either as one
+ * JSON document (same shape as the single-page response) or as
+ * newline-delimited JSON with one issue per line.
+ */
+@Component
+public class IssueStreamWriter {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JiraIssueStreamTransformer issueStreamTransformer;
+
+    public void writeJson(Iterable<IssuePage> pages, OutputStream out) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            generator.writeStartObject();
+            boolean first = true;
+
+            for (IssuePage page : pages) {
+                if (first) {
+                    // Metadata comes from the first page; total is known once JIRA answered
+                    generator.writeStringField("expand", page.getExpand());
+                    generator.writeNumberField("startAt", page.getStartAt());
+                    generator.writeObjectField("total", page.getTotal());
+                    generator.writeArrayFieldStart("issues");
+                    first = false;
+                }
+                issueStreamTransformer.writeIssues(page, generator);
+                generator.flush();
+            }
+
+            if (first) {
+                generator.writeArrayFieldStart("issues");
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    public void writeNdjson(Iterable<IssuePage> pages, OutputStream out) throws IOException {
+        try (JsonGenerator generator = createGenerator(out)) {
+            // Root-level values are separated by a newline instead of a space
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            int written = 0;
+            for (IssuePage page : pages) {
+                written += issueStreamTransformer.writeIssues(page, generator);
+                generator.flush();
+            }
+            if (written > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        // The servlet container owns the response stream
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+}
@@ -0,0 +1,358 @@
+package com.jirabot.service;
+
+import com.jirabot.jfr.JfrEvents;
+import com.jirabot.jfr.JiraCallEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Records every JIRA API call, for both the RestTemplate and the WebClient:
+ * <ul>
+ * <li>{@code jira.client.requests} timer (time to response headers) and
+ * {@code jira.client.errors} counter, tagged by operation, domain, status
+ * and outcome</li>
+ * <li>{@code jira.client.request.size} / {@code jira.client.response.size}
+ * summaries of body sizes in bytes, tagged by operation and domain</li>
+ * <li>{@code jira.client.in.flight} gauge of calls awaiting a response</li>
+ * </ul>
+ * Runs inside the rate limiter, so each attempt is measured on its own
+ * and rate limit waits ({@code jira.ratelimit.wait}) are not counted as JIRA
+ * latency. The same time is added to the calling request's
+ * {@link RequestTimings}, and each call is emitted as a {@link JiraCallEvent}
+ * while JFR events are enabled.
+ */
+@Component
+public class JiraCallMetrics implements ClientHttpRequestInterceptor {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.jira.metrics.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jira.metrics.percentile-histogram:true}")
+    private boolean percentileHistogram;
+
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!enabled) {
+            return execution.execute(request, body);
+        }
+        String operation = operation(request.getMethod(), request.getURI());
+        String domain = request.getURI().getHost();
+        recordSize("jira.client.request.size", operation, domain, body.length);
+
+        RequestTimings timings = RequestTimings.current();
+        JiraCallEvent event = beginEvent(operation, domain, request.getMethod());
+        AtomicInteger calls = inFlight(operation, domain);
+        calls.incrementAndGet();
+        long start = System.nanoTime();
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            record(operation, domain, null, System.nanoTime() - start, timings);
+            commitEvent(event, 0, body.length, 0);
+            throw e;
+        } finally {
+            calls.decrementAndGet();
+        }
+        HttpStatusCode status = response.getStatusCode();
+        record(operation, domain, status, System.nanoTime() - start, timings);
+        if (event != null) {
+            event.end();
+        }
+        return new CountingResponse(response, bytes -> {
+            recordSize("jira.client.response.size", operation, domain, bytes);
+            commitEvent(event, status.value(), body.length, bytes);
+        });
+    }
+
+    /**
+     * Reactive counterpart of {@link #intercept} for the WebClient
+     */
+    public ExchangeFilterFunction exchangeFilter() {
+        return (request, next) -> {
+            if (!enabled) {
+                return next.exchange(request);
+            }
+            String operation = operation(request.method(), request.url());
+            String domain = request.url().getHost();
+            AtomicLong requestBytes = new AtomicLong();
+
+            ClientRequest countedRequest = ClientRequest.from(request)
+                    .body((outputMessage, context) -> request.body().insert(
+                            new ClientHttpRequestDecorator(outputMessage) {
+                                @Override
+                                public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                                    return super.writeWith(Flux.from(body)
+                                            .doOnNext(buffer -> requestBytes.addAndGet(buffer.readableByteCount()))
+                                            .doOnComplete(() -> recordSize("jira.client.request.size", operation,
+                                                    domain, requestBytes.get())));
+                                }
+
+                                @Override
+                                public Mono<Void> setComplete() {
+                                    recordSize("jira.client.request.size", operation, domain, 0);
+                                    return super.setComplete();
+                                }
+                            }, context))
+                    .build();
+
+            return Mono.deferContextual(context -> {
+                RequestTimings timings = context.getOrDefault(RequestTimings.CONTEXT_KEY, RequestTimings.current());
+                JiraCallEvent event = beginEvent(operation, domain, request.method());
+                AtomicInteger calls = inFlight(operation, domain);
+                AtomicBoolean done = new AtomicBoolean();
+                long start = System.nanoTime();
+                calls.incrementAndGet();
+
+                return next.exchange(countedRequest)
+                        .doOnNext(response -> {
+                            if (done.compareAndSet(false, true)) {
+                                calls.decrementAndGet();
+                                record(operation, domain, response.statusCode(), System.nanoTime() - start,
+                                        timings);
+                                if (event != null) {
+                                    event.end();
+                                }
+                            }
+                        })
+                        .doOnError(e -> {
+                            if (done.compareAndSet(false, true)) {
+                                calls.decrementAndGet();
+                                record(operation, domain, null, System.nanoTime() - start, timings);
+                                commitEvent(event, 0, requestBytes.get(), 0);
+                            }
+                        })
+                        .doOnCancel(() -> {
+                            if (done.compareAndSet(false, true)) {
+                                calls.decrementAndGet();
+                            }
+                        })
+                        .map(response -> {
+                            AtomicLong bytes = new AtomicLong();
+                            return response.mutate()
+                                    .body(body -> body
+                                            .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))
+                                            .doOnComplete(() -> recordSize("jira.client.response.size", operation,
+                                                    domain, bytes.get()))
+                                            .doFinally(signal -> commitEvent(event, response.statusCode().value(),
+                                                    requestBytes.get(), bytes.get())))
+                                    .build();
+                        });
+            });
+        };
+    }
+
+    /**
+     * Classifies a JIRA REST call into a low-cardinality operation name
+     */
+    static String operation(HttpMethod method, URI uri) {
+        String path = uri.getPath();
+        int api = path.indexOf("/rest/api/");
+        if (api < 0) {
+            return "other";
+        }
+        // Strip "/rest/api/{version}"
+        String resource = path.substring(api + "/rest/api/".length());
+        resource = resource.indexOf('/') >= 0 ? resource.substring(resource.indexOf('/')) : "/";
+
+        if (resource.startsWith("/search")) {
+            return "search";
+        }
+        if (resource.startsWith("/project")) {
+            return "projects";
+        }
+        if (resource.startsWith("/issue/createmeta")) {
+            return "createmeta";
+        }
+        if (resource.equals("/issue/bulk")) {
+            return "create_bulk";
+        }
+        if (resource.equals("/issue") && HttpMethod.POST.equals(method)) {
+            return "create";
+        }
+        if (resource.startsWith("/issue/") && resource.endsWith("/transitions")) {
+            return HttpMethod.POST.equals(method) ? "transition" : "transitions";
+        }
+        if (resource.startsWith("/issue/")) {
+            // Labels are updated with a PUT on the issue after reading its current labels
+            return HttpMethod.PUT.equals(method) ? "labels" : "issue";
+        }
+        return "other";
+    }
+
+    private void record(String operation, String domain, HttpStatusCode status, long nanos,
+            RequestTimings timings) {
+        if (timings != null) {
+            timings.add(RequestTimings.Phase.JIRA, nanos);
+        }
+        String statusTag = status != null ? String.valueOf(status.value()) : "IO_ERROR";
+        String outcome = status == null ? "UNKNOWN"
+                : status.is2xxSuccessful() ? "SUCCESS"
+                        : status.is4xxClientError() ? "CLIENT_ERROR"
+                                : status.is5xxServerError() ? "SERVER_ERROR" : "UNKNOWN";
+        Tags tags = Tags.of("operation", operation, "domain", domain, "status", statusTag, "outcome", outcome);
+
+        Timer.builder("jira.client.requests")
+                .description("JIRA API calls, time until the response headers arrived")
+                .tags(tags)
+                .publishPercentileHistogram(percentileHistogram)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        if (status == null || status.isError()) {
+            Counter.builder("jira.client.errors")
+                    .description("JIRA API calls that failed or returned an error status")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    private JiraCallEvent beginEvent(String operation, String domain, HttpMethod method) {
+        if (!JfrEvents.isEnabled()) {
+            return null;
+        }
+        JiraCallEvent event = new JiraCallEvent();
+        event.operation = operation;
+        event.domain = domain;
+        event.method = method.name();
+        event.begin();
+        return event;
+    }
+
+    private void commitEvent(JiraCallEvent event, int status, long requestBytes, long responseBytes) {
+        if (event == null || !event.shouldCommit()) {
+            return;
+        }
+        event.status = status;
+        event.requestBytes = requestBytes;
+        event.responseBytes = responseBytes;
+        event.commit();
+    }
+
+    private void recordSize(String name, String operation, String domain, long bytes) {
+        DistributionSummary.builder(name)
+                .description("JIRA API payload size")
+                .baseUnit("bytes")
+                .tags("operation", operation, "domain", domain)
+                .publishPercentileHistogram(percentileHistogram)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    private AtomicInteger inFlight(String operation, String domain) {
+        return inFlight.computeIfAbsent(operation + "|" + domain, key -> {
+            AtomicInteger calls = new AtomicInteger();
+            Gauge.builder("jira.client.in.flight", calls, AtomicInteger::get)
+                    .description("JIRA API calls awaiting a response")
+                    .tags("operation", operation, "domain", domain)
+                    .register(meterRegistry);
+            return calls;
+        });
+    }
+
+    /**
+     * Counts the response body as it is read and records the total when the
+     * response is closed
+     */
+    private static final class CountingResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final LongConsumer onClose;
+        private final AtomicLong bytes = new AtomicLong();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private InputStream body;
+
+        private CountingResponse(ClientHttpResponse delegate, LongConsumer onClose) {
+            this.delegate = delegate;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b >= 0) {
+                            bytes.incrementAndGet();
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int off, int len) throws IOException {
+                        int n = super.read(buffer, off, len);
+                        if (n > 0) {
+                            bytes.addAndGet(n);
+                        }
+                        return n;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                onClose.accept(bytes.get());
+            }
+            delegate.close();
+        }
+    }
+}
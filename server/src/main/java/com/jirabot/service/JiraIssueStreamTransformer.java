@@ -0,0 +1,214 @@
+package com.jirabot.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Flattens JIRA search pages for the streaming issue endpoint, replacing
+ * the earlier Map-tree transform. A JIRA search page is kept as raw bytes and
+ * copied token by token into the response, flattening each issue's "fields"
+ * object on the way, so no intermediate Map trees are built.
+ */
+@Component
+public class JiraIssueStreamTransformer {
+
+    // Flattened output fields, in the order the frontend has always received them
+    private static final String[] FLATTENED_FIELDS = {
+            "summary", "status", "priority", "assignee", "created", "updated", "issueType", "labels" };
+
+    private final JsonFactory jsonFactory;
+
+    @Autowired
+    public JiraIssueStreamTransformer(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * A raw search page with the pagination metadata needed to request the next
+     * page
+     */
+    public static final class IssuePage {
+        private final byte[] body;
+        private final String expand;
+        private final int startAt;
+        private final int maxResults;
+        private final Integer total;
+        private final Integer issueCount;
+
+        private IssuePage(byte[] body, String expand, int startAt, int maxResults, Integer total,
+                Integer issueCount) {
+            this.body = body;
+            this.expand = expand;
+            this.startAt = startAt;
+            this.maxResults = maxResults;
+            this.total = total;
+            this.issueCount = issueCount;
+        }
+
+        public String getExpand() {
+            return expand;
+        }
+
+        public int getStartAt() {
+            return startAt;
+        }
+
+        public Integer getTotal() {
+            return total;
+        }
+
+        /**
+         * Offset of the page after this one, or -1 when this is the last page
+         */
+        public int nextStartAt() {
+            // JIRA reports the page size it actually applied in maxResults
+            int span = maxResults > 0 ? maxResults : (issueCount != null ? issueCount : 0);
+            int next = startAt + span;
+            if (total != null) {
+                return next < total ? next : -1;
+            }
+            return issueCount != null && issueCount > 0 ? next : -1;
+        }
+    }
+
+    /**
+     * Reads the page metadata (expand, startAt, maxResults, total) without
+     * materialising the issues. JIRA sends these before the issues array, so
+     * the scan normally stops there; issues are only counted when the paging
+     * fields are missing.
+     */
+    public IssuePage scan(byte[] body) throws IOException {
+        String expand = null;
+        int startAt = 0;
+        int maxResults = 0;
+        Integer total = null;
+        Integer issueCount = null;
+
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return new IssuePage(body, null, 0, 0, 0, 0);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "expand" -> expand = value == JsonToken.VALUE_STRING ? parser.getText() : null;
+                    case "startAt" -> startAt = value.isNumeric() ? parser.getIntValue() : 0;
+                    case "maxResults" -> maxResults = value.isNumeric() ? parser.getIntValue() : 0;
+                    case "total" -> total = value.isNumeric() ? parser.getIntValue() : null;
+                    case "issues" -> {
+                        if (total != null && maxResults > 0) {
+                            return new IssuePage(body, expand, startAt, maxResults, total, null);
+                        }
+                        int count = 0;
+                        if (value == JsonToken.START_ARRAY) {
+                            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                                count++;
+                                parser.skipChildren();
+                            }
+                        } else {
+                            parser.skipChildren();
+                        }
+                        issueCount = count;
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        return new IssuePage(body, expand, startAt, maxResults, total, issueCount);
+    }
+
+    /**
+     * Copies every issue of the page into the generator as a flattened object
+     * (id, key, self plus the selected fields lifted to the top level) and
+     * returns the number of issues written
+     */
+    public int writeIssues(IssuePage page, JsonGenerator out) throws IOException {
+        int written = 0;
+        try (JsonParser parser = jsonFactory.createParser(page.body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return 0;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("issues".equals(name) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        writeIssue(parser, out);
+                        written++;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return written;
+    }
+
+    private void writeIssue(JsonParser parser, JsonGenerator out) throws IOException {
+        out.writeStartObject();
+        boolean[] written = new boolean[FLATTENED_FIELDS.length];
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+
+            switch (name) {
+                case "id", "key", "self" -> {
+                    out.writeFieldName(name);
+                    out.copyCurrentStructure(parser);
+                }
+                case "fields" -> {
+                    if (value == JsonToken.START_OBJECT) {
+                        writeFlattenedFields(parser, out, written);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        // Keep the shape stable: requested fields are always present
+        for (int i = 0; i < FLATTENED_FIELDS.length; i++) {
+            if (!written[i]) {
+                out.writeNullField(FLATTENED_FIELDS[i]);
+            }
+        }
+        out.writeEndObject();
+    }
+
+    private void writeFlattenedFields(JsonParser parser, JsonGenerator out, boolean[] written) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+
+            // JIRA uses "issuetype"; the frontend expects "issueType"
+            String target = "issuetype".equals(name) ? "issueType" : name;
+            int index = indexOf(target);
+            if (index >= 0 && !"issueType".equals(name)) {
+                out.writeFieldName(target);
+                out.copyCurrentStructure(parser);
+                written[index] = true;
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private int indexOf(String field) {
+        for (int i = 0; i < FLATTENED_FIELDS.length; i++) {
+            if (FLATTENED_FIELDS[i].equals(field)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
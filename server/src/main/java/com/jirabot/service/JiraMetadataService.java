@@ -0,0 +1,287 @@
+package com.jirabot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jirabot.dto.CreateIssueRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import jakarta.annotation.PostConstruct;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caches the create metadata (issue types and their allowed priorities) of
+ * each JIRA project, built from the createmeta endpoints. Entries expire after
+ * {@code app.jira.metadata.ttl-minutes}; once an entry is older than
+ * {@code app.jira.metadata.refresh-after-minutes} the next read triggers a
+ * background reload while the cached copy is still served. Used to reject
+ * rows with unknown issue types or priorities before any create call.
+ */
+@Service
+public class JiraMetadataService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraMetadataService.class);
+
+    // Page size for the createmeta endpoints
+    private static final int CREATEMETA_PAGE_SIZE = 50;
+
+    @Autowired
+    private WebClient jiraWebClient;
+
+    @Value("${app.jira.metadata.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jira.metadata.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    @Value("${app.jira.metadata.refresh-after-minutes:45}")
+    private long refreshAfterMinutes;
+
+    @Value("${app.jira.metadata.max-projects:1000}")
+    private long maxProjects;
+
+    @Value("${app.jira.metadata.load-timeout-ms:15000}")
+    private long loadTimeoutMs;
+
+    private AsyncCache<String, ProjectMetadata> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .maximumSize(maxProjects)
+                .buildAsync();
+    }
+
+    /**
+     * Issue types of one project with the priorities each of them accepts
+     */
+    public static final class ProjectMetadata {
+        private final String projectKey;
+        private final Map<String, IssueTypeMetadata> issueTypes;
+        private final long loadedAtNanos = System.nanoTime();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        ProjectMetadata(String projectKey, List<IssueTypeMetadata> issueTypes) {
+            this.projectKey = projectKey;
+            Map<String, IssueTypeMetadata> byName = new LinkedHashMap<>();
+            issueTypes.forEach(type -> byName.put(type.name.toLowerCase(Locale.ROOT), type));
+            this.issueTypes = Collections.unmodifiableMap(byName);
+        }
+
+        public String getProjectKey() {
+            return projectKey;
+        }
+
+        /**
+         * Project spelling of the issue type, matched case-insensitively, or
+         * null if the project has no such type
+         */
+        public String resolveIssueType(String name) {
+            IssueTypeMetadata type = name != null ? issueTypes.get(name.trim().toLowerCase(Locale.ROOT)) : null;
+            return type != null ? type.name : null;
+        }
+
+        /**
+         * Project spelling of the priority for the given issue type, or null if
+         * the type does not accept it
+         */
+        public String resolvePriority(String issueType, String priority) {
+            IssueTypeMetadata type = issueType != null ? issueTypes.get(issueType.trim().toLowerCase(Locale.ROOT))
+                    : null;
+            if (type == null || type.priorities == null || priority == null) {
+                return null;
+            }
+            return type.priorities.get(priority.trim().toLowerCase(Locale.ROOT));
+        }
+
+        /**
+         * Checks a create request against the project's metadata, applying the
+         * same defaults as the create body. Returns an error message, or null
+         * when the request is acceptable.
+         */
+        public String validate(CreateIssueRequest request) {
+            String issueTypeName = request.getIssueTypeName() != null ? request.getIssueTypeName() : "Task";
+            String priorityName = request.getPriorityName() != null ? request.getPriorityName() : "Medium";
+
+            IssueTypeMetadata type = issueTypes.get(issueTypeName.trim().toLowerCase(Locale.ROOT));
+            if (type == null) {
+                return String.format("Issue type '%s' does not exist in project %s. Available types: %s",
+                        issueTypeName, projectKey, availableTypes());
+            }
+            if (type.subtask) {
+                return String.format("Issue type '%s' is a sub-task type and needs a parent issue", type.name);
+            }
+            if (type.priorities == null) {
+                return String.format("Priority cannot be set on issue type '%s' in project %s", type.name,
+                        projectKey);
+            }
+            if (!type.priorities.isEmpty()
+                    && !type.priorities.containsKey(priorityName.trim().toLowerCase(Locale.ROOT))) {
+                return String.format("Priority '%s' is not allowed for issue type '%s' in project %s. Allowed: %s",
+                        priorityName, type.name, projectKey, type.priorities.values());
+            }
+            return null;
+        }
+
+        private List<String> availableTypes() {
+            List<String> names = new ArrayList<>();
+            issueTypes.values().stream().filter(type -> !type.subtask).forEach(type -> names.add(type.name));
+            return names;
+        }
+
+        private boolean isDueForRefresh(long refreshAfterNanos) {
+            return System.nanoTime() - loadedAtNanos >= refreshAfterNanos;
+        }
+    }
+
+    static final class IssueTypeMetadata {
+        private final String id;
+        private final String name;
+        private final boolean subtask;
+        // Lower-cased name -> project spelling; null when priority is not on the create screen
+        private Map<String, String> priorities;
+
+        IssueTypeMetadata(String id, String name, boolean subtask) {
+            this.id = id;
+            this.name = name;
+            this.subtask = subtask;
+        }
+    }
+
+    /**
+     * Returns the project's metadata, loading it on first use. Completes empty
+     * when metadata is disabled or cannot be loaded, in which case callers skip
+     * local validation.
+     */
+    public Mono<ProjectMetadata> getMetadata(JiraSession session, String projectKey) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        String key = session.getDomain() + "/" + projectKey.toUpperCase(Locale.ROOT);
+
+        CompletableFuture<ProjectMetadata> future = cache.get(key,
+                (k, executor) -> load(session, projectKey).toFuture());
+
+        ProjectMetadata cached = future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+        if (cached != null && cached.isDueForRefresh(TimeUnit.MINUTES.toNanos(refreshAfterMinutes))
+                && cached.refreshing.compareAndSet(false, true)) {
+            // Refresh ahead: keep serving the cached copy while the reload runs
+            load(session, projectKey).subscribe(
+                    fresh -> cache.put(key, CompletableFuture.completedFuture(fresh)),
+                    e -> {
+                        cached.refreshing.set(false);
+                        logger.warn("Refreshing JIRA metadata for {} failed: {}", key, e.getMessage());
+                    });
+        }
+
+        // The future is shared with other callers, so cancelling one subscriber must not cancel it
+        return Mono.fromFuture(future, true)
+                .onErrorResume(e -> {
+                    logger.warn("JIRA metadata for project {} unavailable, skipping local validation: {}",
+                            projectKey, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Blocking variant of {@link #getMetadata} for the bulk upload path
+     */
+    public Optional<ProjectMetadata> findMetadata(JiraSession session, String projectKey) {
+        return getMetadata(session, projectKey).blockOptional(Duration.ofMillis(loadTimeoutMs));
+    }
+
+    /**
+     * Validates a create request against the cached metadata. Emits the error
+     * message for an invalid request and completes empty otherwise.
+     */
+    public Mono<String> validate(JiraSession session, String projectKey, CreateIssueRequest request) {
+        return getMetadata(session, projectKey).mapNotNull(metadata -> metadata.validate(request));
+    }
+
+    public void invalidate(JiraSession session, String projectKey) {
+        cache.synchronous().invalidate(session.getDomain() + "/" + projectKey.toUpperCase(Locale.ROOT));
+    }
+
+    private Mono<ProjectMetadata> load(JiraSession session, String projectKey) {
+        logger.info("Loading JIRA create metadata for project {} on {}", projectKey, session.getDomain());
+
+        String issueTypesPath = "/rest/api/3/issue/createmeta/" + projectKey + "/issuetypes";
+        return fetchAll(session, issueTypesPath, "issueTypes")
+                .map(node -> new IssueTypeMetadata(node.path("id").asText(), node.path("name").asText(),
+                        node.path("subtask").asBoolean(false)))
+                .filter(type -> !type.id.isEmpty() && !type.name.isEmpty())
+                // Priorities can differ per issue type, so each type's fields are read as well
+                .flatMap(type -> fetchAll(session, issueTypesPath + "/" + type.id, "fields")
+                        .filter(field -> "priority".equals(field.path("fieldId").asText()))
+                        .next()
+                        .doOnNext(field -> type.priorities = allowedValues(field))
+                        .thenReturn(type), 4)
+                .collectList()
+                .map(types -> new ProjectMetadata(projectKey, types))
+                .doOnNext(metadata -> logger.info("Loaded {} issue types for project {}",
+                        metadata.issueTypes.size(), projectKey))
+                .timeout(Duration.ofMillis(loadTimeoutMs));
+    }
+
+    /**
+     * Reads every page of a createmeta listing. Depending on the JIRA version
+     * the items are returned under the given field or under "values".
+     */
+    private Flux<JsonNode> fetchAll(JiraSession session, String path, String itemsField) {
+        return fetchPage(session, path, 0)
+                .expand(page -> {
+                    int next = page.path("startAt").asInt(0) + items(page, itemsField).size();
+                    boolean more = page.has("total") ? next < page.path("total").asInt(0)
+                            : !page.path("isLast").asBoolean(true);
+                    return more && !items(page, itemsField).isEmpty() ? fetchPage(session, path, next)
+                            : Mono.empty();
+                })
+                .flatMapIterable(page -> items(page, itemsField));
+    }
+
+    private Mono<JsonNode> fetchPage(JiraSession session, String path, int startAt) {
+        String url = session.url(path + "?startAt=" + startAt + "&maxResults=" + CREATEMETA_PAGE_SIZE);
+        return jiraWebClient.get()
+                .uri(URI.create(url))
+                .headers(headers -> headers.addAll(session.getReadHeaders()))
+                .retrieve()
+                .bodyToMono(JsonNode.class);
+    }
+
+    private List<JsonNode> items(JsonNode page, String itemsField) {
+        JsonNode items = page.has(itemsField) ? page.get(itemsField) : page.path("values");
+        List<JsonNode> result = new ArrayList<>();
+        items.forEach(result::add);
+        return result;
+    }
+
+    private Map<String, String> allowedValues(JsonNode field) {
+        Map<String, String> values = new LinkedHashMap<>();
+        field.path("allowedValues").forEach(value -> {
+            String name = value.path("name").asText();
+            if (!name.isEmpty()) {
+                values.put(name.toLowerCase(Locale.ROOT), name);
+            }
+        });
+        return Collections.unmodifiableMap(values);
+    }
+}
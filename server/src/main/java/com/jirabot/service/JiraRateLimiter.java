@@ -0,0 +1,357 @@
+package com.jirabot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Adaptive token bucket per Atlassian host. Every JIRA request waits for a
+ * permit before it is sent; 429/503 responses halve the rate and block the
+ * host for the Retry-After period (or an exponential backoff with jitter),
+ * while 2xx and other 4xx responses raise the rate again step by step. Other
+ * server errors leave the rate unchanged. Applied to
+ * the RestTemplate as an interceptor and to the WebClient as an exchange
+ * filter.
+ * <p>
+ * A RestTemplate interceptor cannot send the rest of the chain twice, so
+ * interceptors that must see every attempt are wrapped with
+ * {@link #retrying(ClientHttpRequestInterceptor)} instead of being
+ * registered after the limiter.
+ */
+@Component
+public class JiraRateLimiter implements ClientHttpRequestInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraRateLimiter.class);
+
+    private final Map<String, DomainBucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.jira.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jira.rate-limit.initial-rate:10}")
+    private double initialRate;
+
+    @Value("${app.jira.rate-limit.min-rate:1}")
+    private double minRate;
+
+    @Value("${app.jira.rate-limit.max-rate:50}")
+    private double maxRate;
+
+    @Value("${app.jira.rate-limit.burst:10}")
+    private double burst;
+
+    @Value("${app.jira.rate-limit.increase-step:0.5}")
+    private double increaseStep;
+
+    @Value("${app.jira.rate-limit.decrease-factor:0.5}")
+    private double decreaseFactor;
+
+    @Value("${app.jira.rate-limit.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${app.jira.rate-limit.base-backoff-ms:1000}")
+    private long baseBackoffMs;
+
+    @Value("${app.jira.rate-limit.max-backoff-ms:60000}")
+    private long maxBackoffMs;
+
+    /**
+     * Reserves a permit for the given host and returns how long the caller has
+     * to wait before using it, in nanoseconds.
+     */
+    public long reserve(String domain) {
+        if (!enabled) {
+            return 0;
+        }
+        return bucket(domain).reserve(System.nanoTime());
+    }
+
+    /**
+     * Blocks until a permit for the given host is available
+     */
+    public void acquire(String domain) throws InterruptedException {
+        long waitNanos = reserve(domain);
+        recordWait(domain, waitNanos);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Feeds a JIRA response back into the limiter so it can back off or speed up
+     */
+    public void onResponse(String domain, int status, HttpHeaders headers) {
+        if (!enabled) {
+            return;
+        }
+        DomainBucket bucket = bucket(domain);
+        long now = System.nanoTime();
+
+        if (isThrottled(status)) {
+            Long retryAfterNanos = parseRetryAfter(headers);
+            long backoffNanos = bucket.onThrottle(now, retryAfterNanos);
+            Counter.builder("jira.ratelimit.throttled")
+                    .description("JIRA responses that signalled throttling")
+                    .tag("domain", domain)
+                    .tag("status", String.valueOf(status))
+                    .register(meterRegistry)
+                    .increment();
+            logger.warn("JIRA throttled {} (status {}), backing off {} ms, rate now {}/s", domain, status,
+                    TimeUnit.NANOSECONDS.toMillis(backoffNanos), String.format("%.2f", bucket.rate));
+        } else if ((status >= 200 && status < 300) || (status >= 400 && status < 500)) {
+            // The request was handled (client errors included), so JIRA has capacity to spare
+            bucket.onSuccess(now, headers);
+        }
+        // Other server errors (500, 502, 504, ...) leave the rate unchanged so an overloaded JIRA does not
+        // get more traffic; I/O errors never get here and are neutral as well
+    }
+
+    public boolean isThrottled(int status) {
+        return status == 429 || status == 503;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        return intercept(request, body, execution, (r, b, e) -> e.execute(r, b));
+    }
+
+    /**
+     * Interceptor that rate limits and retries like this one and runs the
+     * given interceptor around every attempt, retries included
+     */
+    public ClientHttpRequestInterceptor retrying(ClientHttpRequestInterceptor attemptInterceptor) {
+        return (request, body, execution) -> intercept(request, body, execution, attemptInterceptor);
+    }
+
+    private ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution,
+            ClientHttpRequestInterceptor attemptInterceptor) throws IOException {
+        String domain = request.getURI().getHost();
+
+        for (int attempt = 0;; attempt++) {
+            try {
+                acquire(domain);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for JIRA rate limit");
+            }
+
+            // Once past the last registered interceptor, each execute sends a new request
+            ClientHttpResponse response = attemptInterceptor.intercept(request, body, execution);
+            int status = response.getStatusCode().value();
+            onResponse(domain, status, response.getHeaders());
+
+            if (!enabled || !isThrottled(status) || attempt >= maxRetries) {
+                return response;
+            }
+
+            logger.info("Retrying {} {} after throttling (attempt {})", request.getMethod(), request.getURI(),
+                    attempt + 1);
+            response.close();
+        }
+    }
+
+    /**
+     * Non-blocking counterpart of {@link #intercept} for the reactive WebClient:
+     * the permit wait is a timer delay instead of a sleeping thread.
+     */
+    public ExchangeFilterFunction exchangeFilter() {
+        return (request, next) -> {
+            String domain = request.url().getHost();
+            AtomicInteger attempts = new AtomicInteger();
+
+            return Mono.defer(() -> {
+                long waitNanos = reserve(domain);
+                recordWait(domain, waitNanos);
+
+                Mono<ClientResponse> call = next.exchange(request).flatMap(response -> {
+                    int status = response.statusCode().value();
+                    onResponse(domain, status, response.headers().asHttpHeaders());
+                    if (enabled && isThrottled(status) && attempts.getAndIncrement() < maxRetries) {
+                        logger.info("Retrying {} {} after throttling (attempt {})", request.method(), request.url(),
+                                attempts.get());
+                        return response.releaseBody().then(Mono.error(new ThrottledException()));
+                    }
+                    return Mono.just(response);
+                });
+                return waitNanos > 0 ? Mono.delay(Duration.ofNanos(waitNanos)).then(call) : call;
+            }).retryWhen(Retry.max(maxRetries).filter(ThrottledException.class::isInstance));
+        };
+    }
+
+    private void recordWait(String domain, long waitNanos) {
+        if (!enabled) {
+            return;
+        }
+        if (waitNanos > 0) {
+            logger.debug("Rate limiter delaying request to {} by {} ms", domain,
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+        bucket(domain).waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private DomainBucket bucket(String domain) {
+        return buckets.computeIfAbsent(domain, this::createBucket);
+    }
+
+    private DomainBucket createBucket(String domain) {
+        DomainBucket bucket = new DomainBucket(domain);
+        Gauge.builder("jira.ratelimit.rate", bucket, b -> b.rate)
+                .description("Current permitted JIRA request rate per second")
+                .tag("domain", domain)
+                .register(meterRegistry);
+        return bucket;
+    }
+
+    private Long parseRetryAfter(HttpHeaders headers) {
+        String retryAfter = headers.getFirst("Retry-After");
+        if (retryAfter != null) {
+            try {
+                return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException e) {
+                try {
+                    ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                    return Math.max(0, Duration.between(ZonedDateTime.now(), date).toNanos());
+                } catch (Exception ignored) {
+                    logger.debug("Unparseable Retry-After header: {}", retryAfter);
+                }
+            }
+        }
+        return parseRateLimitReset(headers);
+    }
+
+    private Long parseRateLimitReset(HttpHeaders headers) {
+        String reset = headers.getFirst("X-RateLimit-Reset");
+        if (reset == null) {
+            return null;
+        }
+        try {
+            return Math.max(0, Duration.between(OffsetDateTime.now(), OffsetDateTime.parse(reset.trim())).toNanos());
+        } catch (Exception e) {
+            logger.debug("Unparseable X-RateLimit-Reset header: {}", reset);
+            return null;
+        }
+    }
+
+    private static final class ThrottledException extends RuntimeException {
+        private ThrottledException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final class DomainBucket {
+
+        private final Timer waitTimer;
+        private volatile double rate = initialRate;
+        private double tokens = burst;
+        private long lastRefill = System.nanoTime();
+        private long blockedUntil = 0;
+        private int consecutiveThrottles = 0;
+
+        private DomainBucket(String domain) {
+            this.waitTimer = Timer.builder("jira.ratelimit.wait")
+                    .description("Time spent waiting for a JIRA rate limit permit")
+                    .tag("domain", domain)
+                    .register(meterRegistry);
+        }
+
+        private synchronized long reserve(long now) {
+            refill(now);
+            tokens -= 1;
+
+            long waitNanos = tokens < 0 ? (long) (-tokens / rate * 1_000_000_000L) : 0;
+            if (blockedUntil - now > waitNanos) {
+                waitNanos = blockedUntil - now;
+            }
+            return waitNanos;
+        }
+
+        private synchronized long onThrottle(long now, Long retryAfterNanos) {
+            refill(now);
+            consecutiveThrottles++;
+            rate = Math.max(minRate, rate * decreaseFactor);
+            tokens = Math.min(tokens, 0);
+
+            long backoffNanos;
+            if (retryAfterNanos != null) {
+                // Spread clients that received the same Retry-After across a short window
+                backoffNanos = retryAfterNanos
+                        + ThreadLocalRandom.current().nextLong(TimeUnit.MILLISECONDS.toNanos(250) + 1);
+            } else {
+                long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(consecutiveThrottles - 1, 16));
+                backoffNanos = TimeUnit.MILLISECONDS
+                        .toNanos(ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1));
+            }
+
+            blockedUntil = Math.max(blockedUntil, now + backoffNanos);
+            return backoffNanos;
+        }
+
+        private synchronized void onSuccess(long now, HttpHeaders headers) {
+            refill(now);
+            consecutiveThrottles = 0;
+
+            Long remaining = parseLong(headers.getFirst("X-RateLimit-Remaining"));
+            Long limit = parseLong(headers.getFirst("X-RateLimit-Limit"));
+
+            if (remaining != null && remaining <= 0) {
+                Long resetNanos = parseRateLimitReset(headers);
+                if (resetNanos != null) {
+                    blockedUntil = Math.max(blockedUntil, now + resetNanos);
+                }
+                rate = Math.max(minRate, rate * decreaseFactor);
+            } else if (remaining != null && limit != null && limit > 0 && remaining * 10 < limit) {
+                // Less than 10% of the budget left - hold the current rate
+                return;
+            } else {
+                rate = Math.min(maxRate, rate + increaseStep);
+            }
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(burst, tokens + (now - lastRefill) * rate / 1_000_000_000L);
+            lastRefill = now;
+        }
+
+        private Long parseLong(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
@@ -1,202 +1,98 @@
 package com.jirabot.service;
 
-import com.jirabot.dto.JiraProjectRequest;
-import com.jirabot.dto.JiraProjectResponse;
 import com.jirabot.dto.CreateIssueRequest;
 import com.jirabot.dto.BulkIssueCreationResponse;
+import com.jirabot.jfr.JfrEvents;
+import com.jirabot.jfr.JiraBulkChunkEvent;
+import com.jirabot.jfr.JiraBulkImportEvent;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.core5.http.ConnectionRequestTimeoutException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.UnknownHostException;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Service
 public class JiraService {
 
     private static final Logger logger = LoggerFactory.getLogger(JiraService.class);
 
+    // JIRA rejects bulk create requests with more than 50 issues
+    private static final int JIRA_BULK_CREATE_LIMIT = 50;
+
     @Autowired
     private RestTemplate restTemplate;
 
-    public JiraProjectResponse getProjects(JiraProjectRequest request) {
-        try {
-            // Construct the Jira API URL
-            String baseUrl = String.format("https://%s.atlassian.net/rest/api/3/project/search",
-                    request.getAtlassianDomain());
-
-            UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(baseUrl)
-                    .queryParam("maxResults", request.getMaxResults())
-                    .queryParam("startAt", request.getStartAt());
-
-            // Add search query if provided
-            if (request.getSearchQuery() != null && !request.getSearchQuery().trim().isEmpty()) {
-                uriBuilder.queryParam("query", request.getSearchQuery().trim());
-            }
-
-            String url = uriBuilder.toUriString();
-
-            // Create Basic Auth header
-            String auth = request.getEmail() + ":" + request.getApiToken();
-            byte[] encodedAuth = Base64.getEncoder().encode(auth.getBytes(StandardCharsets.UTF_8));
-            String authHeader = "Basic " + new String(encodedAuth);
-
-            // Set headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", authHeader);
-            headers.set("Accept", "application/json");
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            logger.info("Calling Jira API: {} for domain: {}", url, request.getAtlassianDomain());
-
-            // Make the API call
-            ResponseEntity<JiraProjectResponse> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    JiraProjectResponse.class);
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                logger.info("Successfully fetched {} projects from Jira",
-                        response.getBody() != null ? response.getBody().getValues().size() : 0);
-                return response.getBody();
-            } else {
-                logger.error("Failed to fetch projects from Jira. Status: {}", response.getStatusCode());
-                throw new RuntimeException("Failed to fetch projects from Jira");
-            }
-
-        } catch (Exception e) {
-            logger.error("Error calling Jira API: ", e);
-            throw new RuntimeException("Error fetching projects from Jira: " + e.getMessage());
-        }
-    }
-
-    public Object getProjectIssues(String projectKey, String email, String apiToken) {
-        return getProjectIssues(projectKey, email, apiToken, null);
-    }
-
-    public Object getProjectIssues(String projectKey, String email, String apiToken, String atlassianDomain) {
-        try {
-            // Use provided domain or extract from email
-            String domain = (atlassianDomain != null && !atlassianDomain.trim().isEmpty())
-                    ? atlassianDomain
-                    : extractDomainFromEmail(email);
-
-            logger.info("Extracted domain '{}' from email '{}' for user", domain, email);
-
-            // Construct the URL with proper JQL format: project=PROJECT_KEY
-            String baseUrl = String.format("https://%s.atlassian.net/rest/api/3/search", domain);
-            String jqlQuery = "project=" + projectKey;
+    @Autowired
+    private ObjectMapper objectMapper;
 
-            // Build URL manually to avoid double encoding of JQL query
-            String url = String.format("%s?jql=%s&maxResults=%d&startAt=%d&fields=%s",
-                    baseUrl,
-                    jqlQuery,
-                    50,
-                    0,
-                    "id,key,summary,status,priority,assignee,created,updated,issuetype,labels");
+    @Autowired
+    private JiraRateLimiter jiraRateLimiter;
 
-            // Create Basic Auth header
-            String auth = email + ":" + apiToken;
-            byte[] encodedAuth = Base64.getEncoder().encode(auth.getBytes(StandardCharsets.UTF_8));
-            String authHeader = "Basic " + new String(encodedAuth);
+    @Autowired
+    private JiraMetadataService jiraMetadataService;
 
-            // Set headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", authHeader);
-            headers.set("Accept", "application/json");
+    @Autowired
+    private JiraSessionRegistry jiraSessionRegistry;
 
-            HttpEntity<String> entity = new HttpEntity<>(headers);
+    @Value("${app.jira.bulk.use-bulk-endpoint:true}")
+    private boolean useBulkEndpoint;
 
-            logger.info("Calling Jira API for project issues: {} for project: {}", url, projectKey);
+    @Value("${app.jira.bulk.chunk-size:50}")
+    private int bulkChunkSize;
 
-            // Make the API call
-            ResponseEntity<Object> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    Object.class);
+    @Value("${app.jira.bulk.max-retries:3}")
+    private int bulkMaxRetries;
 
-            if (response.getStatusCode() == HttpStatus.OK) {
-                logger.info("Successfully fetched issues for project: {}", projectKey);
-                return transformIssuesResponse(response.getBody());
-            } else {
-                logger.error("Failed to fetch issues from Jira. Status: {}", response.getStatusCode());
-                throw new RuntimeException("Failed to fetch issues from Jira");
-            }
+    @Value("${app.jira.bulk.retry-backoff-ms:1000}")
+    private long bulkRetryBackoffMs;
 
-        } catch (Exception e) {
-            logger.error("Error calling Jira API for issues: ", e);
-            throw new RuntimeException("Error fetching issues from Jira: " + e.getMessage());
-        }
-    }
+    @Value("${app.jira.bulk.parallelism-per-domain:4}")
+    private int bulkParallelismPerDomain;
 
-    @SuppressWarnings("unchecked")
-    private Object transformIssuesResponse(Object rawResponse) {
-        try {
-            if (rawResponse instanceof Map) {
-                Map<String, Object> responseMap = (Map<String, Object>) rawResponse;
-                Map<String, Object> transformedResponse = new HashMap<>();
-
-                // Copy metadata fields
-                transformedResponse.put("expand", responseMap.get("expand"));
-                transformedResponse.put("startAt", responseMap.get("startAt"));
-                transformedResponse.put("maxResults", responseMap.get("maxResults"));
-                transformedResponse.put("total", responseMap.get("total"));
-
-                // Transform issues array to flatten fields for frontend consumption
-                if (responseMap.get("issues") instanceof List) {
-                    List<Map<String, Object>> issues = (List<Map<String, Object>>) responseMap.get("issues");
-                    List<Map<String, Object>> transformedIssues = new ArrayList<>();
-
-                    for (Map<String, Object> issue : issues) {
-                        Map<String, Object> transformedIssue = new HashMap<>();
-
-                        // Copy root level fields
-                        transformedIssue.put("id", issue.get("id"));
-                        transformedIssue.put("key", issue.get("key"));
-                        transformedIssue.put("self", issue.get("self"));
-
-                        // Extract fields from nested "fields" object
-                        if (issue.get("fields") instanceof Map) {
-                            Map<String, Object> fields = (Map<String, Object>) issue.get("fields");
-
-                            // Flatten important fields to root level for easier frontend access
-                            transformedIssue.put("summary", fields.get("summary"));
-                            transformedIssue.put("status", fields.get("status"));
-                            transformedIssue.put("priority", fields.get("priority"));
-                            transformedIssue.put("assignee", fields.get("assignee"));
-                            transformedIssue.put("created", fields.get("created"));
-                            transformedIssue.put("updated", fields.get("updated"));
-                            transformedIssue.put("issueType", fields.get("issuetype")); // Note: JIRA uses "issuetype"
-                            transformedIssue.put("labels", fields.get("labels")); // Add labels field
-                        }
-
-                        transformedIssues.add(transformedIssue);
-                    }
+    @Value("${app.jira.bulk.pipeline-queue-capacity:500}")
+    private int pipelineQueueCapacity;
 
-                    transformedResponse.put("issues", transformedIssues);
-                } else {
-                    // If no issues found, return empty array
-                    transformedResponse.put("issues", new ArrayList<>());
-                }
+    @Value("${app.jira.bulk.pipeline-linger-ms:100}")
+    private long pipelineLingerMs;
 
-                return transformedResponse;
-            }
+    @Autowired
+    @Qualifier("jiraBulkExecutor")
+    private ExecutorService jiraBulkExecutor;
 
-            return rawResponse;
-        } catch (Exception e) {
-            logger.error("Error transforming issues response: ", e);
-            return rawResponse; // Return original response if transformation fails
-        }
-    }
+    private final Map<String, Semaphore> domainPermits = new ConcurrentHashMap<>();
 
-    private String extractDomainFromEmail(String email) {
+    static String extractDomainFromEmail(String email) {
         // FIXME: This is a temporary workaround. The domain should be stored with the
         // user
         // For now, we'll use the known working domain from project searches
@@ -223,27 +119,14 @@ public class JiraService {
         throw new IllegalArgumentException("Invalid email format");
     }
 
-    public void updateIssueLabels(String issueKey, String email, String apiToken, String ricefwCategory) {
+    public void updateIssueLabels(String issueKey, JiraSession session, String ricefwCategory) {
         try {
-            String domain = extractDomainFromEmail(email);
-
             logger.info("Updating labels for issue '{}' with RICEFW category '{}'", issueKey, ricefwCategory);
 
             // First, get the current issue to retrieve existing labels
-            String getIssueUrl = String.format("https://%s.atlassian.net/rest/api/3/issue/%s?fields=labels", domain,
-                    issueKey);
+            String getIssueUrl = session.url("/rest/api/3/issue/" + issueKey + "?fields=labels");
 
-            // Create Basic Auth header
-            String auth = email + ":" + apiToken;
-            byte[] encodedAuth = Base64.getEncoder().encode(auth.getBytes(StandardCharsets.UTF_8));
-            String authHeader = "Basic " + new String(encodedAuth);
-
-            // Set headers for GET request
-            HttpHeaders getHeaders = new HttpHeaders();
-            getHeaders.set("Authorization", authHeader);
-            getHeaders.set("Accept", "application/json");
-
-            HttpEntity<String> getEntity = new HttpEntity<>(getHeaders);
+            HttpEntity<String> getEntity = new HttpEntity<>(session.getReadHeaders());
 
             // Get current issue data
             ResponseEntity<Object> getResponse = restTemplate.exchange(
@@ -252,64 +135,14 @@ public class JiraService {
                     getEntity,
                     Object.class);
 
-            // Extract current labels
-            List<String> currentLabels = new ArrayList<>();
-            if (getResponse.getStatusCode() == HttpStatus.OK && getResponse.getBody() != null) {
-                if (getResponse.getBody() instanceof Map) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> issueData = (Map<String, Object>) getResponse.getBody();
-                    if (issueData.get("fields") instanceof Map) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> fields = (Map<String, Object>) issueData.get("fields");
-                        if (fields.get("labels") instanceof List) {
-                            @SuppressWarnings("unchecked")
-                            List<String> labels = (List<String>) fields.get("labels");
-                            currentLabels.addAll(labels);
-                        }
-                    }
-                }
-            }
-
-            // Remove any existing RICEFW category labels
-            List<String> ricefwCategories = Arrays.asList("Report", "Interface", "Conversion", "Enhancement", "Form",
-                    "Workflow");
-            currentLabels.removeIf(ricefwCategories::contains);
-
-            // Add the new RICEFW category if it's not "Uncategorized"
-            if (!"Uncategorized".equals(ricefwCategory)) {
-                currentLabels.add(ricefwCategory);
-            }
+            // Replace the RICEFW category label, preserving all other labels
+            List<String> currentLabels = extractLabels(getResponse.getBody());
+            String requestBody = buildLabelsUpdateBody(currentLabels, ricefwCategory);
 
             // Construct the JIRA API URL for updating issue
-            String updateIssueUrl = String.format("https://%s.atlassian.net/rest/api/3/issue/%s", domain, issueKey);
-
-            // Create the request body for updating labels with all preserved labels
-            StringBuilder labelsJson = new StringBuilder();
-            labelsJson.append("[");
-            for (int i = 0; i < currentLabels.size(); i++) {
-                if (i > 0)
-                    labelsJson.append(", ");
-                labelsJson.append("\"").append(currentLabels.get(i)).append("\"");
-            }
-            labelsJson.append("]");
-
-            String requestBody = String.format("""
-                    {
-                      "update": {
-                        "labels": [
-                          { "set": %s }
-                        ]
-                      }
-                    }
-                    """, labelsJson.toString());
-
-            // Set headers for PUT request
-            HttpHeaders putHeaders = new HttpHeaders();
-            putHeaders.set("Authorization", authHeader);
-            putHeaders.set("Content-Type", "application/json");
-            putHeaders.set("Accept", "application/json");
+            String updateIssueUrl = session.url("/rest/api/3/issue/" + issueKey);
 
-            HttpEntity<String> putEntity = new HttpEntity<>(requestBody, putHeaders);
+            HttpEntity<String> putEntity = new HttpEntity<>(requestBody, session.getWriteHeaders());
 
             logger.info("Calling JIRA API to update issue labels: {} with body: {}", updateIssueUrl, requestBody);
 
@@ -333,90 +166,74 @@ public class JiraService {
         }
     }
 
-    public Object createIssue(String projectKey, String email, String apiToken, CreateIssueRequest request) {
-        try {
-            String domain = extractDomainFromEmail(email);
+    /**
+     * Extracts the current labels from an issue fetched with fields=labels
+     */
+    static List<String> extractLabels(Object issueBody) {
+        List<String> currentLabels = new ArrayList<>();
+        if (issueBody instanceof Map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> issueData = (Map<String, Object>) issueBody;
+            if (issueData.get("fields") instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> fields = (Map<String, Object>) issueData.get("fields");
+                if (fields.get("labels") instanceof List) {
+                    @SuppressWarnings("unchecked")
+                    List<String> labels = (List<String>) fields.get("labels");
+                    currentLabels.addAll(labels);
+                }
+            }
+        }
+        return currentLabels;
+    }
 
+    /**
+     * Builds the label update body that swaps the RICEFW category label while
+     * preserving all other labels
+     */
+    static String buildLabelsUpdateBody(List<String> currentLabels, String ricefwCategory) {
+        // Remove any existing RICEFW category labels
+        List<String> ricefwCategories = Arrays.asList("Report", "Interface", "Conversion", "Enhancement", "Form",
+                "Workflow");
+        currentLabels.removeIf(ricefwCategories::contains);
+
+        // Add the new RICEFW category if it's not "Uncategorized"
+        if (!"Uncategorized".equals(ricefwCategory)) {
+            currentLabels.add(ricefwCategory);
+        }
+
+        // Create the request body for updating labels with all preserved labels
+        StringBuilder labelsJson = new StringBuilder();
+        labelsJson.append("[");
+        for (int i = 0; i < currentLabels.size(); i++) {
+            if (i > 0)
+                labelsJson.append(", ");
+            labelsJson.append("\"").append(currentLabels.get(i)).append("\"");
+        }
+        labelsJson.append("]");
+
+        return String.format("""
+                {
+                  "update": {
+                    "labels": [
+                      { "set": %s }
+                    ]
+                  }
+                }
+                """, labelsJson.toString());
+    }
+
+    public Object createIssue(String projectKey, JiraSession session, CreateIssueRequest request) {
+        try {
             logger.info("Creating issue in project '{}' with summary '{}'", projectKey, request.getSummary());
 
             // Construct the JIRA API URL for creating issue
-            String createIssueUrl = String.format("https://%s.atlassian.net/rest/api/3/issue", domain);
-
-            // Create Basic Auth header
-            String auth = email + ":" + apiToken;
-            byte[] encodedAuth = Base64.getEncoder().encode(auth.getBytes(StandardCharsets.UTF_8));
-            String authHeader = "Basic " + new String(encodedAuth);
-
-            // Construct labels array for request body
-            StringBuilder labelsJson = new StringBuilder();
-            labelsJson.append("[");
-            if (request.getLabels() != null && !request.getLabels().isEmpty()) {
-                for (int i = 0; i < request.getLabels().size(); i++) {
-                    if (i > 0)
-                        labelsJson.append(", ");
-                    labelsJson.append("\"").append(request.getLabels().get(i)).append("\"");
-                }
-            }
-            labelsJson.append("]");
-
-            // Create description in Atlassian Document Format (ADF)
-            String descriptionADF = "";
-            if (request.getDescription() != null && !request.getDescription().trim().isEmpty()) {
-                String escapedDescription = request.getDescription().replace("\"", "\\\"").replace("\n", "\\n")
-                        .replace("\r", "");
-                descriptionADF = String.format("""
-                        "description": {
-                          "type": "doc",
-                          "version": 1,
-                          "content": [
-                            {
-                              "type": "paragraph",
-                              "content": [
-                                {
-                                  "type": "text",
-                                  "text": "%s"
-                                }
-                              ]
-                            }
-                          ]
-                        },""", escapedDescription);
-            } else {
-                descriptionADF = "";
-            }
+            String createIssueUrl = session.url("/rest/api/3/issue");
 
             // Create the request body
-            String requestBody = String.format("""
-                    {
-                      "fields": {
-                        "project": {
-                          "key": "%s"
-                        },
-                        "summary": "%s",
-                        %s
-                        "issuetype": {
-                          "name": "%s"
-                        },
-                        "priority": {
-                          "name": "%s"
-                        },
-                        "labels": %s
-                      }
-                    }
-                    """,
-                    projectKey,
-                    request.getSummary().replace("\"", "\\\""),
-                    descriptionADF,
-                    request.getIssueTypeName() != null ? request.getIssueTypeName() : "Task",
-                    request.getPriorityName() != null ? request.getPriorityName() : "Medium",
-                    labelsJson.toString());
-
-            // Set headers for POST request
-            HttpHeaders postHeaders = new HttpHeaders();
-            postHeaders.set("Authorization", authHeader);
-            postHeaders.set("Content-Type", "application/json");
-            postHeaders.set("Accept", "application/json");
-
-            HttpEntity<String> postEntity = new HttpEntity<>(requestBody, postHeaders);
+            String requestBody = buildCreateIssueBody(projectKey, request);
+
+            HttpEntity<String> postEntity = new HttpEntity<>(requestBody, session.getWriteHeaders());
 
             logger.info("Calling JIRA API to create issue: {} with body: {}", createIssueUrl, requestBody);
 
@@ -442,80 +259,60 @@ public class JiraService {
     }
 
     /**
-     * Get available transitions for an issue
+     * Builds the JSON body for a single issue create, shared by the single and
+     * bulk create endpoints
      */
-    public Object getIssueTransitions(String issueKey, String email, String jiraToken) {
-        try {
-            String domain = extractDomainFromEmail(email);
-            String transitionsUrl = String.format("https://%s.atlassian.net/rest/api/3/issue/%s/transitions",
-                    domain, issueKey);
-
-            // Create Basic Auth header
-            String auth = email + ":" + jiraToken;
-            byte[] encodedAuth = Base64.getEncoder().encode(auth.getBytes(StandardCharsets.UTF_8));
-            String authHeader = "Basic " + new String(encodedAuth);
-
-            // Set headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", authHeader);
-            headers.set("Accept", "application/json");
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            logger.info("Fetching transitions for issue: {} from URL: {}", issueKey, transitionsUrl);
+    String buildCreateIssueBody(String projectKey, CreateIssueRequest request) {
+        return writeJson(buildCreateIssueUpdate(projectKey, request));
+    }
 
-            // Make the API call
-            ResponseEntity<Object> response = restTemplate.exchange(
-                    transitionsUrl,
-                    HttpMethod.GET,
-                    entity,
-                    Object.class);
+    /**
+     * Builds one issue create ({@code {"fields": {...}}}) as a map, so the
+     * spreadsheet values are escaped by Jackson when the body is written
+     */
+    static Map<String, Object> buildCreateIssueUpdate(String projectKey, CreateIssueRequest request) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("project", Map.of("key", projectKey));
+        fields.put("summary", request.getSummary());
+
+        // Description in Atlassian Document Format (ADF)
+        if (request.getDescription() != null && !request.getDescription().trim().isEmpty()) {
+            Map<String, Object> text = Map.of("type", "text", "text", request.getDescription().replace("\r", ""));
+            Map<String, Object> paragraph = Map.of("type", "paragraph", "content", List.of(text));
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("type", "doc");
+            description.put("version", 1);
+            description.put("content", List.of(paragraph));
+            fields.put("description", description);
+        }
 
-            if (response.getStatusCode() == HttpStatus.OK) {
-                logger.info("Successfully fetched transitions for issue: {}", issueKey);
-                return response.getBody();
-            } else {
-                logger.error("Failed to fetch transitions for issue: {}. Status: {}", issueKey,
-                        response.getStatusCode());
-                throw new RuntimeException("Failed to fetch transitions: " + response.getStatusCode());
-            }
+        fields.put("issuetype", Map.of("name",
+                request.getIssueTypeName() != null ? request.getIssueTypeName() : "Task"));
+        fields.put("priority", Map.of("name",
+                request.getPriorityName() != null ? request.getPriorityName() : "Medium"));
+        fields.put("labels", request.getLabels() != null ? request.getLabels() : List.of());
+        return Map.of("fields", fields);
+    }
 
-        } catch (Exception e) {
-            logger.error("Error fetching transitions for issue {}: {}", issueKey, e.getMessage(), e);
-            throw new RuntimeException("Error fetching transitions: " + e.getMessage(), e);
+    private String writeJson(Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write JIRA request body: " + e.getMessage(), e);
         }
     }
 
     /**
      * Apply a transition to change issue status
      */
-    public Object transitionIssue(String issueKey, String transitionId, String email, String jiraToken) {
+    public Object transitionIssue(String issueKey, String transitionId, JiraSession session) {
         try {
-            String domain = extractDomainFromEmail(email);
-            String transitionUrl = String.format("https://%s.atlassian.net/rest/api/3/issue/%s/transitions",
-                    domain, issueKey);
-
-            // Create Basic Auth header
-            String auth = email + ":" + jiraToken;
-            byte[] encodedAuth = Base64.getEncoder().encode(auth.getBytes(StandardCharsets.UTF_8));
-            String authHeader = "Basic " + new String(encodedAuth);
+            String transitionUrl = session.url("/rest/api/3/issue/" + issueKey + "/transitions");
 
             // Create request body
-            String requestBody = String.format("""
-                    {
-                      "transition": {
-                        "id": "%s"
-                      }
-                    }
-                    """, transitionId);
+            String requestBody = buildTransitionBody(transitionId);
 
-            // Set headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", authHeader);
-            headers.set("Content-Type", "application/json");
-            headers.set("Accept", "application/json");
-
-            HttpEntity<String> entity = new HttpEntity<>(requestBody, headers);
+            HttpEntity<String> entity = new HttpEntity<>(requestBody, session.getWriteHeaders());
 
             logger.info("Applying transition {} to issue: {} with URL: {}", transitionId, issueKey, transitionUrl);
             logger.info("Transition request body: {}", requestBody);
@@ -542,57 +339,650 @@ public class JiraService {
         }
     }
 
+    static String buildTransitionBody(String transitionId) {
+        return String.format("""
+                {
+                  "transition": {
+                    "id": "%s"
+                  }
+                }
+                """, transitionId);
+    }
+
+    /**
+     * Supplies the rows of a bulk upload one at a time, e.g. from a streaming
+     * Excel parse
+     */
+    @FunctionalInterface
+    public interface IssueRowSource {
+        void forEachRow(Consumer<CreateIssueRequest> sink) throws IOException;
+    }
+
+    /**
+     * One row of a bulk upload and its outcome. The request is dropped once
+     * the issue has been created, since only failed rows are echoed back.
+     */
+    private static final class BulkRow {
+        private final int rowNumber;
+        private CreateIssueRequest request;
+        private volatile String createdKey;
+        private volatile String errorMessage = "Issue was not created";
+        private volatile boolean outcomeUnknown;
+
+        private BulkRow(int rowNumber, CreateIssueRequest request) {
+            this.rowNumber = rowNumber;
+            this.request = request;
+        }
+
+        private void created(String issueKey) {
+            createdKey = issueKey;
+            errorMessage = null;
+            request = null;
+        }
+
+        // The request reached JIRA without a usable answer, so the issue may exist
+        private void outcomeUnknown(String message) {
+            errorMessage = message;
+            outcomeUnknown = true;
+        }
+    }
+
+    // Marks the end of the rows in a bulk creation queue
+    private static final BulkRow END_OF_ROWS = new BulkRow(-1, null);
+
     /**
-     * Creates multiple issues in bulk
+     * Creates multiple issues in bulk. Rows (or bulk-endpoint chunks) are
+     * processed concurrently on the bulk executor, bounded per Atlassian domain;
+     * results are still reported in row order.
      */
-    public BulkIssueCreationResponse createIssuesBulk(String projectKey, String email, String apiToken,
+    public BulkIssueCreationResponse createIssuesBulk(String projectKey, JiraSession session,
             List<CreateIssueRequest> issueRequests) {
+        try {
+            return createIssuesBulk(projectKey, session, issueRequests::forEach);
+        } catch (IOException e) {
+            // Not reachable: reading a list cannot fail
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Pipelined bulk creation. Rows are read from the source on the calling
+     * thread and passed through a bounded queue to creator workers on the bulk
+     * executor, so the first issues are created while later rows are still
+     * being parsed and the upload is never held in memory as a whole. A full
+     * queue blocks the reader, which keeps parsing in step with JIRA.
+     *
+     * @throws IOException if the source fails before producing any row
+     */
+    public BulkIssueCreationResponse createIssuesBulk(String projectKey, JiraSession session,
+            IssueRowSource source) throws IOException {
+        return createIssuesBulk(projectKey, session, source, BulkProgressListener.NONE);
+    }
+
+    /**
+     * As {@link #createIssuesBulk(String, JiraSession, IssueRowSource)}, reporting
+     * each row's outcome to the listener as it becomes final. Once the listener
+     * reports cancellation, reading stops and queued rows are failed without
+     * being sent; chunks already in flight complete normally. When the listener
+     * does not need row results, the response only carries the counts.
+     */
+    public BulkIssueCreationResponse createIssuesBulk(String projectKey, JiraSession session,
+            IssueRowSource source, BulkProgressListener listener) throws IOException {
+        JiraBulkImportEvent event = JfrEvents.isEnabled() ? new JiraBulkImportEvent() : null;
+        if (event != null) {
+            event.begin();
+        }
+        Optional<JiraMetadataService.ProjectMetadata> metadata = jiraMetadataService.findMetadata(session,
+                projectKey);
+        int chunkSize = useBulkEndpoint ? Math.max(1, Math.min(bulkChunkSize, JIRA_BULK_CREATE_LIMIT)) : 1;
+        int workers = Math.max(1, bulkParallelismPerDomain);
+        Semaphore permits = domainPermits.computeIfAbsent(session.getDomain(), d -> new Semaphore(workers, true));
+        BlockingQueue<BulkRow> queue = new ArrayBlockingQueue<>(Math.max(chunkSize, pipelineQueueCapacity));
+
+        logger.info("Starting bulk creation in project '{}' (chunk size {}, parallelism {}, queue capacity {})",
+                projectKey, chunkSize, workers, queue.remainingCapacity());
+
+        // Without per-row results only the outcomes are counted, so rows can be dropped once created
+        boolean keepRows = listener.needsRowResults();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger outcomeUnknown = new AtomicInteger();
+        BulkProgressListener countingListener = new BulkProgressListener() {
+            @Override
+            public void onRowCompleted(int rowNumber, String issueKey, String errorMessage,
+                    CreateIssueRequest failedRequest) {
+                if (errorMessage == null) {
+                    succeeded.incrementAndGet();
+                }
+                listener.onRowCompleted(rowNumber, issueKey, errorMessage, failedRequest);
+            }
+
+            @Override
+            public void onRowOutcomeUnknown(int rowNumber, String errorMessage, CreateIssueRequest request) {
+                outcomeUnknown.incrementAndGet();
+                listener.onRowOutcomeUnknown(rowNumber, errorMessage, request);
+            }
+
+            @Override
+            public void onChunkCompleted() {
+                listener.onChunkCompleted();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return listener.isCancelled();
+            }
+        };
+
+        List<Future<?>> creators = new ArrayList<>();
+        try {
+            for (int w = 0; w < workers; w++) {
+                creators.add(jiraBulkExecutor.submit(new DelegatingSecurityContextRunnable(RequestTimings.wrap(
+                        () -> runCreator(session, projectKey, queue, chunkSize, permits, countingListener)))));
+            }
+        } catch (RejectedExecutionException e) {
+            // The bulk pool is saturated: run with the creators that were accepted, or give up before reading
+            if (creators.isEmpty()) {
+                logger.warn("Bulk creation in project '{}' rejected, the bulk executor is full", projectKey);
+                throw e;
+            }
+            logger.warn("Bulk executor is full, bulk creation in project '{}' runs with {} of {} creators",
+                    projectKey, creators.size(), workers);
+        }
+
+        List<BulkRow> rows = new ArrayList<>();
+        AtomicInteger rowsRead = new AtomicInteger();
+        AtomicInteger lastRowNumber = new AtomicInteger(1);
+        AtomicInteger alreadyCreated = new AtomicInteger();
+        IOException readFailure = null;
+        try {
+            source.forEachRow(request -> {
+                if (listener.isCancelled()) {
+                    throw new CancellationException();
+                }
+                BulkRow row = new BulkRow(rowNumberOf(request, rowsRead.getAndIncrement()), request);
+                lastRowNumber.set(row.rowNumber);
+                if (keepRows) {
+                    rows.add(row);
+                }
+
+                // Rows an earlier run of the same import already created are reported with their key
+                String existingKey = listener.previouslyCreatedKey(row.rowNumber);
+                if (existingKey != null) {
+                    row.created(existingKey);
+                    alreadyCreated.incrementAndGet();
+                    notifyCompleted(countingListener, row);
+                    return;
+                }
+
+                // Rows an earlier run sent without learning the outcome may exist in JIRA; they are left for
+                // the user to check instead of risking a duplicate
+                String unknownOutcome = listener.previousOutcomeUnknown(row.rowNumber);
+                if (unknownOutcome != null) {
+                    row.outcomeUnknown("Not sent again, an earlier upload of this file may already have created "
+                            + "this issue; check JIRA and create it manually if it is missing (" + unknownOutcome
+                            + ")");
+                    notifyCompleted(countingListener, row);
+                    return;
+                }
+
+                // Reject rows the project cannot accept before spending any create calls
+                String error = metadata.map(m -> m.validate(request)).orElse(null);
+                if (error != null) {
+                    row.errorMessage = error;
+                    logger.warn("Rejected row {} without calling JIRA: {}", row.rowNumber, error);
+                    notifyCompleted(countingListener, row);
+                } else {
+                    enqueue(queue, row, creators);
+                }
+            });
+        } catch (CancellationException e) {
+            logger.info("Bulk creation in project '{}' cancelled after reading {} rows", projectKey, rowsRead.get());
+        } catch (IOException e) {
+            if (rowsRead.get() == 0) {
+                throw e;
+            }
+            logger.error("Reading bulk rows failed after {} rows: {}", rowsRead.get(), e.getMessage());
+            readFailure = e;
+        } finally {
+            finishCreators(queue, creators);
+        }
+
         List<String> createdIssueKeys = new ArrayList<>();
         List<BulkIssueCreationResponse.BulkIssueError> errors = new ArrayList<>();
-        int successCount = 0;
-        int failedCount = 0;
+        for (BulkRow row : rows) {
+            if (row.errorMessage == null) {
+                if (row.createdKey != null) {
+                    createdIssueKeys.add(row.createdKey);
+                }
+            } else {
+                errors.add(new BulkIssueCreationResponse.BulkIssueError(
+                        row.rowNumber,
+                        row.errorMessage,
+                        row.request));
+            }
+        }
+        int total = rowsRead.get();
+        if (readFailure != null) {
+            // Report the unreadable remainder of the upload as one failed row
+            BulkIssueCreationResponse.BulkIssueError readError = new BulkIssueCreationResponse.BulkIssueError(
+                    lastRowNumber.get() + 1,
+                    "Upload could not be read past this row: " + readFailure.getMessage(),
+                    null);
+            countingListener.onRowCompleted(readError.getRowNumber(), null, readError.getErrorMessage(), null);
+            errors.add(readError);
+            total++;
+        }
+        // Rows a failed creator never reported count as failed
+        int successCount = keepRows ? total - errors.size() : succeeded.get();
+
+        logger.info("Bulk creation completed: {} successful ({} created earlier), {} failed ({} with an unknown "
+                + "outcome)", successCount, alreadyCreated.get(), total - successCount, outcomeUnknown.get());
+
+        BulkIssueCreationResponse response = new BulkIssueCreationResponse(
+                total,
+                successCount,
+                total - successCount,
+                keepRows ? createdIssueKeys : null,
+                keepRows ? errors : null);
+        response.setAlreadyCreated(alreadyCreated.get());
+        response.setOutcomeUnknown(outcomeUnknown.get());
+
+        if (event != null && event.shouldCommit()) {
+            event.projectKey = projectKey;
+            event.domain = session.getDomain();
+            event.rowsRead = rowsRead.get();
+            event.succeeded = successCount;
+            event.failed = total - successCount;
+            event.alreadyCreated = alreadyCreated.get();
+            event.cancelled = listener.isCancelled();
+            event.commit();
+        }
+        return response;
+    }
 
-        logger.info("Starting bulk creation of {} issues in project '{}'", issueRequests.size(), projectKey);
+    /**
+     * Hands a row to the creators, waiting while the queue is full. Fails
+     * instead of blocking forever if every creator has stopped.
+     */
+    private void enqueue(BlockingQueue<BulkRow> queue, BulkRow row, List<Future<?>> creators) {
+        try {
+            while (!queue.offer(row, 100, TimeUnit.MILLISECONDS)) {
+                if (creators.stream().allMatch(Future::isDone)) {
+                    throw new IllegalStateException("Bulk creation workers stopped unexpectedly");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing rows for creation", e);
+        }
+    }
 
-        for (int i = 0; i < issueRequests.size(); i++) {
-            CreateIssueRequest request = issueRequests.get(i);
-            int rowNumber = i + 2; // Excel row number (assuming header in row 1)
+    private void finishCreators(BlockingQueue<BulkRow> queue, List<Future<?>> creators) {
+        try {
+            if (!creators.stream().allMatch(Future::isDone)) {
+                enqueue(queue, END_OF_ROWS, creators);
+            }
+        } catch (IllegalStateException e) {
+            logger.warn("Could not signal end of rows to bulk creators: {}", e.getMessage());
+        }
 
+        for (Future<?> creator : creators) {
             try {
-                Object response = createIssue(projectKey, email, apiToken, request);
+                creator.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                creators.forEach(f -> f.cancel(true));
+                logger.warn("Bulk creation interrupted, remaining rows were not processed");
+                return;
+            } catch (ExecutionException e) {
+                logger.error("Bulk creation worker failed: {}", e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
 
-                // Extract issue key from response
-                if (response instanceof Map) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> responseMap = (Map<String, Object>) response;
-                    String issueKey = (String) responseMap.get("key");
-                    if (issueKey != null) {
-                        createdIssueKeys.add(issueKey);
-                        logger.info("Successfully created issue {} for row {}", issueKey, rowNumber);
+    /**
+     * Creator loop: takes chunks off the queue until the end marker and sends
+     * them with at most {@code app.jira.bulk.parallelism-per-domain} in flight
+     * against one domain, across all concurrent uploads. Pacing within that
+     * ceiling is left to the rate limiter.
+     */
+    private void runCreator(JiraSession session, String projectKey, BlockingQueue<BulkRow> queue, int chunkSize,
+            Semaphore permits, BulkProgressListener listener) {
+        try {
+            List<BulkRow> chunk;
+            while (!(chunk = nextChunk(queue, chunkSize)).isEmpty()) {
+                if (listener.isCancelled()) {
+                    chunk.forEach(row -> {
+                        row.errorMessage = "Cancelled before the issue was created";
+                        notifyCompleted(listener, row);
+                    });
+                    listener.onChunkCompleted();
+                    continue;
+                }
+                permits.acquire();
+                JiraBulkChunkEvent event = JfrEvents.isEnabled() ? new JiraBulkChunkEvent() : null;
+                if (event != null) {
+                    event.begin();
+                }
+                try {
+                    if (useBulkEndpoint) {
+                        createBulkChunk(session, projectKey, chunk);
+                    } else {
+                        createSingleIssue(session, projectKey, chunk.get(0));
                     }
+                } catch (RuntimeException e) {
+                    logger.error("Unexpected error creating {} rows: {}", chunk.size(), e.getMessage(), e);
+                    chunk.forEach(row -> row.errorMessage = "Error creating issue: " + e.getMessage());
+                } finally {
+                    permits.release();
+                }
+                if (event != null && event.shouldCommit()) {
+                    event.projectKey = projectKey;
+                    event.domain = session.getDomain();
+                    event.rows = chunk.size();
+                    event.failed = (int) chunk.stream().filter(row -> row.errorMessage != null).count();
+                    event.created = event.rows - event.failed;
+                    event.commit();
                 }
-                successCount++;
+                chunk.forEach(row -> notifyCompleted(listener, row));
+                // Lets the ledger record the chunk before the next one is sent
+                listener.onChunkCompleted();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
-                // Add a small delay to avoid overwhelming the JIRA API
-                Thread.sleep(100);
+    private void notifyCompleted(BulkProgressListener listener, BulkRow row) {
+        try {
+            String errorMessage = row.errorMessage;
+            if (row.outcomeUnknown) {
+                listener.onRowOutcomeUnknown(row.rowNumber, errorMessage, row.request);
+            } else {
+                listener.onRowCompleted(row.rowNumber, row.createdKey, errorMessage,
+                        errorMessage != null ? row.request : null);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Bulk progress listener failed for row {}: {}", row.rowNumber, e.getMessage());
+        }
+    }
 
-            } catch (Exception e) {
-                logger.error("Failed to create issue for row {}: {}", rowNumber, e.getMessage());
-                errors.add(new BulkIssueCreationResponse.BulkIssueError(
-                        rowNumber,
-                        e.getMessage(),
-                        request));
-                failedCount++;
+    /**
+     * Takes up to {@code size} rows, waiting at most
+     * {@code app.jira.bulk.pipeline-linger-ms} for a partial chunk to fill up.
+     * Returns an empty list once the end marker is reached.
+     */
+    private List<BulkRow> nextChunk(BlockingQueue<BulkRow> queue, int size) throws InterruptedException {
+        List<BulkRow> chunk = new ArrayList<>(size);
+        BulkRow row = queue.take();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(pipelineLingerMs);
+
+        while (row != null) {
+            if (row == END_OF_ROWS) {
+                // Leave the marker for the other creators
+                queue.put(END_OF_ROWS);
+                break;
+            }
+            chunk.add(row);
+            if (chunk.size() >= size) {
+                break;
             }
+            row = queue.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
         }
+        return chunk;
+    }
+
+    private void createSingleIssue(JiraSession session, String projectKey, BulkRow row) {
+        try {
+            Object response = createIssue(projectKey, session, row.request);
+
+            // Extract issue key from response
+            if (response instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> responseMap = (Map<String, Object>) response;
+                String issueKey = (String) responseMap.get("key");
+                if (issueKey != null) {
+                    logger.info("Successfully created issue {} for row {}", issueKey, row.rowNumber);
+                }
+                row.created(issueKey);
+            } else {
+                row.created(null);
+            }
 
-        logger.info("Bulk creation completed: {} successful, {} failed", successCount, failedCount);
+        } catch (Exception e) {
+            logger.error("Failed to create issue for row {}: {}", row.rowNumber, e.getMessage());
+            if (CreateFailure.of(e) == CreateFailure.OUTCOME_UNKNOWN) {
+                row.outcomeUnknown("Outcome unknown, the issue may have been created in JIRA: " + e.getMessage());
+            } else {
+                row.errorMessage = e.getMessage();
+            }
+        }
+    }
 
-        return new BulkIssueCreationResponse(
-                issueRequests.size(),
-                successCount,
-                failedCount,
-                createdIssueKeys,
-                errors);
+    /**
+     * Creates one chunk of at most 50 rows through JIRA's bulk endpoint
+     * (/rest/api/3/issue/bulk). Requests and elements that JIRA throttled (429
+     * or 503) or that never reached it are re-sent with backoff; other
+     * failures are reported against their original Excel row, as unknown
+     * outcomes when the issues may have been created anyway.
+     */
+    private void createBulkChunk(JiraSession session, String projectKey, List<BulkRow> chunk) {
+        List<BulkRow> pending = chunk;
+
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            boolean[] throttled = new boolean[1];
+            List<BulkRow> retryable = postBulkChunk(session, projectKey, pending, throttled);
+
+            if (retryable.isEmpty()) {
+                break;
+            }
+            if (attempt >= bulkMaxRetries) {
+                logger.warn("Giving up on {} retryable rows after {} retries", retryable.size(), attempt);
+                break;
+            }
+
+            if (throttled[0]) {
+                // Element-level 429s: let the rate limiter hold back the next chunk call
+                jiraRateLimiter.onResponse(URI.create(session.getBaseUrl()).getHost(), 429, HttpHeaders.EMPTY);
+                logger.info("Retrying {} throttled rows (attempt {})", retryable.size(), attempt + 1);
+            } else {
+                long backoff = bulkRetryBackoffMs * (1L << attempt);
+                logger.info("Retrying {} rows in {} ms (attempt {})", retryable.size(), backoff, attempt + 1);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            pending = retryable;
+        }
+    }
+
+    /**
+     * Sends one bulk request for the given rows and records the outcome of each
+     * element. Returns the rows that failed with a retryable status and flags
+     * whether any of them were throttled.
+     */
+    private List<BulkRow> postBulkChunk(JiraSession session, String projectKey, List<BulkRow> rows,
+            boolean[] throttled) {
+        List<Map<String, Object>> issueUpdates = new ArrayList<>(rows.size());
+        for (BulkRow row : rows) {
+            issueUpdates.add(buildCreateIssueUpdate(projectKey, row.request));
+        }
+        String requestBody = writeJson(Map.of("issueUpdates", issueUpdates));
+
+        String bulkUrl = session.url("/rest/api/3/issue/bulk");
+        HttpEntity<String> postEntity = new HttpEntity<>(requestBody, session.getWriteHeaders());
+
+        logger.info("Calling JIRA bulk API: {} with {} issues", bulkUrl, rows.size());
+
+        Map<String, Object> responseBody;
+        try {
+            ResponseEntity<Map<String, Object>> response = restTemplate.exchange(
+                    bulkUrl,
+                    HttpMethod.POST,
+                    postEntity,
+                    new ParameterizedTypeReference<Map<String, Object>>() {
+                    });
+            responseBody = response.getBody() != null ? response.getBody() : Map.of();
+        } catch (HttpStatusCodeException e) {
+            // JIRA answers 400 with the regular bulk payload when every element fails
+            responseBody = readBulkErrorBody(e.getResponseBodyAsString());
+            if (responseBody == null) {
+                return failChunk(rows, "JIRA bulk create failed: " + e.getStatusCode(), e);
+            }
+        } catch (RestClientException e) {
+            return failChunk(rows, "Error creating issue: " + e.getMessage(), e);
+        }
+
+        List<BulkRow> retryable = new ArrayList<>();
+        Set<Integer> failedPositions = new HashSet<>();
+
+        if (responseBody.get("errors") instanceof List<?> elementErrors) {
+            for (Object item : elementErrors) {
+                if (!(item instanceof Map<?, ?> error) || !(error.get("failedElementNumber") instanceof Number n)) {
+                    continue;
+                }
+                int position = n.intValue();
+                if (position < 0 || position >= rows.size()) {
+                    continue;
+                }
+                BulkRow row = rows.get(position);
+                int status = error.get("status") instanceof Number s ? s.intValue() : 400;
+                failedPositions.add(position);
+                row.errorMessage = describeElementError(error.get("elementErrors"), status);
+                // JIRA reported these elements as failed, so only throttled ones are worth sending again
+                if (jiraRateLimiter.isThrottled(status)) {
+                    retryable.add(row);
+                    throttled[0] = true;
+                } else {
+                    logger.error("Failed to create issue for row {}: {}", row.rowNumber, row.errorMessage);
+                }
+            }
+        }
+
+        // Created issues are returned in request order, skipping failed elements
+        if (responseBody.get("issues") instanceof List<?> createdIssues) {
+            int issuePosition = 0;
+            for (int position = 0; position < rows.size() && issuePosition < createdIssues.size(); position++) {
+                if (failedPositions.contains(position)) {
+                    continue;
+                }
+                Object issue = createdIssues.get(issuePosition++);
+                if (issue instanceof Map<?, ?> issueMap && issueMap.get("key") instanceof String issueKey) {
+                    BulkRow row = rows.get(position);
+                    row.created(issueKey);
+                    logger.info("Successfully created issue {} for row {}", issueKey, row.rowNumber);
+                }
+            }
+        }
+
+        return retryable;
+    }
+
+    private Map<String, Object> readBulkErrorBody(String body) {
+        if (body == null || body.isBlank()) {
+            return null;
+        }
+        try {
+            Map<String, Object> parsed = objectMapper.readValue(body, new TypeReference<Map<String, Object>>() {
+            });
+            // A plain JIRA error ({"errorMessages": [...], "errors": {...}}) is not a bulk payload
+            return parsed.get("errors") instanceof List || parsed.get("issues") instanceof List ? parsed : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String describeElementError(Object elementErrors, int status) {
+        List<String> messages = new ArrayList<>();
+        if (elementErrors instanceof Map<?, ?> details) {
+            if (details.get("errorMessages") instanceof List<?> errorMessages) {
+                errorMessages.forEach(message -> messages.add(String.valueOf(message)));
+            }
+            if (details.get("errors") instanceof Map<?, ?> fieldErrors) {
+                fieldErrors.forEach((field, message) -> messages.add(field + ": " + message));
+            }
+        }
+        return messages.isEmpty() ? "JIRA rejected issue with status " + status : String.join("; ", messages);
+    }
+
+    /**
+     * Whether the call failed before the request was sent (no connection,
+     * connect timeout or no pooled connection available), so sending it again
+     * cannot create anything twice
+     */
+    private static boolean failedBeforeSending(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException
+                    || cause instanceof UnknownHostException || cause instanceof ConnectionRequestTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Records a bulk request that failed as a whole. Returns the rows to send
+     * again: all of them if JIRA cannot have created anything, none otherwise.
+     */
+    private List<BulkRow> failChunk(List<BulkRow> rows, String message, RestClientException error) {
+        switch (CreateFailure.of(error)) {
+            case RESENDABLE -> {
+                logger.error("{} for {} rows, sending them again", message, rows.size());
+                rows.forEach(row -> row.errorMessage = message);
+                return new ArrayList<>(rows);
+            }
+            case OUTCOME_UNKNOWN -> {
+                // The request may have been processed (e.g. a read timeout or a 500), so the issues may exist;
+                // sending the chunk again could create them twice
+                logger.error("{} after sending {} rows to JIRA bulk API, outcome unknown", message, rows.size());
+                rows.forEach(row -> row.outcomeUnknown("Outcome unknown, the issue may have been created in JIRA: "
+                        + message));
+                return List.of();
+            }
+            default -> {
+                logger.error("{} for {} rows", message, rows.size());
+                rows.forEach(row -> row.errorMessage = message);
+                return List.of();
+            }
+        }
+    }
+
+    /**
+     * How a failed create call ended, which decides whether sending it again
+     * could create the issue twice
+     */
+    enum CreateFailure {
+        // Nothing was processed: the request was never sent, or JIRA answered 429/503
+        RESENDABLE,
+        // JIRA answered and rejected the request
+        REJECTED,
+        // The request may have been processed: a read timeout, a broken response or a 5xx other than 503
+        OUTCOME_UNKNOWN;
+
+        static CreateFailure of(Throwable error) {
+            if (failedBeforeSending(error)) {
+                return RESENDABLE;
+            }
+            for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+                if (cause instanceof HttpStatusCodeException e) {
+                    int status = e.getStatusCode().value();
+                    return status == 429 || status == 503 ? RESENDABLE
+                            : status >= 500 ? OUTCOME_UNKNOWN : REJECTED;
+                }
+                if (cause instanceof RestClientException) {
+                    return OUTCOME_UNKNOWN;
+                }
+            }
+            // Failed while preparing the request
+            return REJECTED;
+        }
+    }
+
+    private int rowNumberOf(CreateIssueRequest request, int index) {
+        // Fall back to list position when the request did not come from Excel (header in row 1)
+        return request.getRowNumber() != null ? request.getRowNumber() : index + 2;
     }
 }
@@ -0,0 +1,129 @@
+package com.jirabot.service;
+
+import com.jirabot.entity.User;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Everything needed to call JIRA on behalf of one user, derived once: the
+ * resolved Atlassian domain, the REST base URL, the Basic auth header and
+ * read-only request headers. Sessions are immutable and shared between
+ * requests; see {@link JiraSessionRegistry}.
+ */
+public final class JiraSession {
+
+    /**
+     * Base URL of a JIRA Cloud site; {@code %s} is replaced by the domain
+     */
+    public static final String ATLASSIAN_BASE_URL = "https://%s.atlassian.net";
+
+    private final Long userId;
+    private final String email;
+    private final String apiToken;
+    private final String storedDomain;
+    private final String domain;
+    private final String baseUrl;
+    private final String authHeader;
+    private final HttpHeaders readHeaders;
+    private final HttpHeaders writeHeaders;
+
+    private JiraSession(Long userId, String email, String apiToken, String storedDomain, String baseUrlTemplate) {
+        this.userId = userId;
+        this.email = email;
+        this.apiToken = apiToken;
+        this.storedDomain = storedDomain;
+
+        // Use the stored domain, or fall back to the one derived from the email
+        this.domain = (storedDomain != null && !storedDomain.trim().isEmpty())
+                ? storedDomain.trim()
+                : JiraService.extractDomainFromEmail(email);
+        this.baseUrl = String.format(baseUrlTemplate, domain);
+
+        String auth = email + ":" + apiToken;
+        this.authHeader = "Basic " + Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8));
+
+        HttpHeaders read = new HttpHeaders();
+        read.set(HttpHeaders.AUTHORIZATION, authHeader);
+        read.setAccept(List.of(MediaType.APPLICATION_JSON));
+        this.readHeaders = HttpHeaders.readOnlyHttpHeaders(read);
+
+        HttpHeaders write = new HttpHeaders();
+        write.putAll(read);
+        write.setContentType(MediaType.APPLICATION_JSON);
+        this.writeHeaders = HttpHeaders.readOnlyHttpHeaders(write);
+    }
+
+    public static JiraSession forUser(User user) {
+        return forUser(user, ATLASSIAN_BASE_URL);
+    }
+
+    /**
+     * Session whose REST calls go to {@code baseUrlTemplate} formatted with
+     * the user's domain instead of the Atlassian cloud host
+     */
+    public static JiraSession forUser(User user, String baseUrlTemplate) {
+        return new JiraSession(user.getId(), user.getEmail(), user.getJiraToken(), user.getAtlassianDomain(),
+                baseUrlTemplate);
+    }
+
+    public static JiraSession of(String email, String apiToken, String atlassianDomain) {
+        return new JiraSession(null, email, apiToken, atlassianDomain, ATLASSIAN_BASE_URL);
+    }
+
+    /**
+     * Whether this session was built from the user's current email, JIRA token
+     * and Atlassian domain
+     */
+    public boolean matches(User user) {
+        return Objects.equals(email, user.getEmail())
+                && Objects.equals(apiToken, user.getJiraToken())
+                && Objects.equals(storedDomain, user.getAtlassianDomain());
+    }
+
+    /**
+     * Absolute JIRA URL for a REST path such as "/rest/api/3/issue"
+     */
+    public String url(String path) {
+        return baseUrl + path;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getDomain() {
+        return domain;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getAuthHeader() {
+        return authHeader;
+    }
+
+    /**
+     * Authorization and Accept headers for GET requests
+     */
+    public HttpHeaders getReadHeaders() {
+        return readHeaders;
+    }
+
+    /**
+     * Authorization, Accept and JSON Content-Type headers for requests with a
+     * body
+     */
+    public HttpHeaders getWriteHeaders() {
+        return writeHeaders;
+    }
+}
@@ -0,0 +1,81 @@
+package com.jirabot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jirabot.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+
+/**
+ * Caches one {@link JiraSession} per user id so the domain, auth header and
+ * request headers are derived once instead of on every JIRA call. Idle
+ * sessions are evicted; a cached session is rebuilt when the user's email,
+ * JIRA token or domain no longer match it, and dropped explicitly when the
+ * user is updated or logs out.
+ */
+@Component
+public class JiraSessionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraSessionRegistry.class);
+
+    @Value("${app.jira.session.idle-timeout-minutes:30}")
+    private long idleTimeoutMinutes;
+
+    @Value("${app.jira.session.max-sessions:10000}")
+    private long maxSessions;
+
+    // Points JIRA calls at another host, e.g. the fake JIRA of the test profile
+    @Value("${app.jira.base-url:" + JiraSession.ATLASSIAN_BASE_URL + "}")
+    private String baseUrlTemplate;
+
+    private Cache<Long, JiraSession> sessions;
+
+    @PostConstruct
+    void init() {
+        sessions = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(idleTimeoutMinutes))
+                .maximumSize(maxSessions)
+                .build();
+    }
+
+    /**
+     * Returns the cached session for the user, building it on first use or
+     * when the user's JIRA credentials have changed
+     */
+    public JiraSession getSession(User user) {
+        if (user.getId() == null) {
+            return JiraSession.forUser(user, baseUrlTemplate);
+        }
+        JiraSession session = sessions.getIfPresent(user.getId());
+        if (session != null && session.matches(user)) {
+            return session;
+        }
+
+        logger.debug("Building JIRA session for user id {}", user.getId());
+        session = JiraSession.forUser(user, baseUrlTemplate);
+        sessions.put(user.getId(), session);
+        return session;
+    }
+
+    /**
+     * JIRA base URL for a domain, for calls made without a user session
+     */
+    public String baseUrl(String domain) {
+        return String.format(baseUrlTemplate, domain);
+    }
+
+    public void invalidate(Long userId) {
+        if (userId != null) {
+            sessions.invalidate(userId);
+        }
+    }
+
+    public long size() {
+        return sessions.estimatedSize();
+    }
+}
@@ -0,0 +1,204 @@
+package com.jirabot.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jirabot.dto.CreateIssueRequest;
+import com.jirabot.entity.JiraWrite;
+import com.jirabot.entity.JiraWriteOperation;
+import com.jirabot.entity.JiraWriteState;
+import com.jirabot.repository.JiraWriteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Durable outbox for JIRA writes. Requests are stored in the
+ * {@code jira_write_outbox} table and acknowledged once committed;
+ * {@link JiraWriteWorker} claims due rows in batches and records the outcome
+ * here. Failed attempts are retried with exponential backoff until
+ * {@code app.jira.outbox.max-attempts}, after which the write is left in
+ * the DEAD state for inspection or a manual retry.
+ */
+@Service
+@Transactional
+public class JiraWriteOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraWriteOutboxService.class);
+
+    // Longest error message kept on a write
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    @Autowired
+    private JiraWriteRepository jiraWriteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.jira.outbox.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.jira.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.jira.outbox.base-backoff-ms:2000}")
+    private long baseBackoffMs;
+
+    @Value("${app.jira.outbox.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Value("${app.jira.outbox.lease-seconds:120}")
+    private long leaseSeconds;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public JiraWrite enqueueCreateIssue(Long userId, String projectKey, CreateIssueRequest request) {
+        try {
+            return enqueue(new JiraWrite(userId, JiraWriteOperation.CREATE_ISSUE, projectKey, null,
+                    objectMapper.writeValueAsString(request)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not serialize create request: " + e.getMessage(), e);
+        }
+    }
+
+    public JiraWrite enqueueLabelsUpdate(Long userId, String issueKey, String ricefwCategory) {
+        return enqueue(new JiraWrite(userId, JiraWriteOperation.UPDATE_LABELS, null, issueKey, ricefwCategory));
+    }
+
+    public JiraWrite enqueueTransition(Long userId, String projectKey, String issueKey, String transitionId) {
+        return enqueue(new JiraWrite(userId, JiraWriteOperation.TRANSITION_ISSUE, projectKey, issueKey,
+                transitionId));
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<JiraWrite> findForUser(Long writeId, Long userId) {
+        return jiraWriteRepository.findByIdAndUserId(writeId, userId);
+    }
+
+    /**
+     * Puts a dead-lettered write back in the queue with a fresh attempt budget
+     */
+    public JiraWrite retry(JiraWrite write) {
+        if (write.getState() != JiraWriteState.DEAD) {
+            return write;
+        }
+        write.setState(JiraWriteState.PENDING);
+        write.setAttempts(0);
+        write.setNextAttemptAt(LocalDateTime.now());
+        write.setCompletedAt(null);
+        logger.info("Requeued dead JIRA write {} ({})", write.getId(), write.getOperation().name());
+        return jiraWriteRepository.save(write);
+    }
+
+    /**
+     * Claims up to {@code limit} due writes for this worker. Rows locked by
+     * another worker are skipped; claimed rows are leased for
+     * {@code app.jira.outbox.lease-seconds}, after which a crashed attempt is
+     * picked up again. Each claim gets a new lease token, and the outcome is
+     * only recorded by the attempt holding it.
+     */
+    public List<JiraWrite> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<JiraWrite> due = jiraWriteRepository.findDueForUpdate(
+                EnumSet.of(JiraWriteState.PENDING, JiraWriteState.IN_PROGRESS), now, PageRequest.of(0, limit));
+        for (JiraWrite write : due) {
+            write.setState(JiraWriteState.IN_PROGRESS);
+            write.setAttempts(write.getAttempts() + 1);
+            write.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+            write.setLease(UUID.randomUUID().toString());
+        }
+        return due;
+    }
+
+    /**
+     * Restarts the lease of a claimed write just before it is sent, so a
+     * write that waited in the batch is not sent after another worker may
+     * have claimed it. Returns false if the lease was already lost.
+     */
+    public boolean renewLease(JiraWrite write) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leasedUntil = now.plusSeconds(leaseSeconds);
+        if (jiraWriteRepository.renewLease(write.getId(), write.getLease(), leasedUntil, now) == 0) {
+            return false;
+        }
+        write.setNextAttemptAt(leasedUntil);
+        return true;
+    }
+
+    public void markSucceeded(JiraWrite write, String resultKey) {
+        int updated = jiraWriteRepository.markSucceeded(write.getId(), write.getLease(), JiraWriteState.SUCCEEDED,
+                resultKey, LocalDateTime.now());
+        if (updated == 0) {
+            logLeaseLost(write, "success");
+        }
+    }
+
+    /**
+     * Schedules the next attempt with exponential backoff and jitter, or
+     * dead-letters the write if the error is permanent or attempts are used up
+     */
+    public void markFailed(JiraWrite write, String error, boolean retryable) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated;
+        if (!retryable || write.getAttempts() >= maxAttempts) {
+            updated = jiraWriteRepository.markFailed(write.getId(), write.getLease(), JiraWriteState.DEAD,
+                    truncate(error), write.getNextAttemptAt(), now, now);
+            if (updated > 0) {
+                logger.error("JIRA write {} ({}) dead-lettered after {} attempts: {}", write.getId(),
+                        write.getOperation().name(), write.getAttempts(), error);
+            }
+        } else {
+            long backoffMs = Math.min(maxBackoffMs, baseBackoffMs << Math.min(write.getAttempts() - 1, 20));
+            long delayMs = backoffMs / 2 + ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+            updated = jiraWriteRepository.markFailed(write.getId(), write.getLease(), JiraWriteState.PENDING,
+                    truncate(error), now.plus(delayMs, ChronoUnit.MILLIS), null, now);
+            if (updated > 0) {
+                logger.warn("JIRA write {} ({}) failed on attempt {}, retrying in {} ms: {}", write.getId(),
+                        write.getOperation().name(), write.getAttempts(), delayMs, error);
+            }
+        }
+        if (updated == 0) {
+            logLeaseLost(write, "failure (" + error + ")");
+        }
+    }
+
+    public int purgeSucceeded(LocalDateTime before) {
+        return jiraWriteRepository.deleteCompletedBefore(JiraWriteState.SUCCEEDED, before);
+    }
+
+    private JiraWrite enqueue(JiraWrite write) {
+        JiraWrite saved = jiraWriteRepository.save(write);
+        logger.info("Queued JIRA write {} ({}) for user {}", saved.getId(), saved.getOperation().name(),
+                saved.getUserId());
+        return saved;
+    }
+
+    /**
+     * The attempt outlived its lease and the write was claimed again (or
+     * completed) by another attempt, whose outcome wins
+     */
+    private void logLeaseLost(JiraWrite write, String outcome) {
+        logger.warn("JIRA write {} ({}) attempt {} finished after its lease expired; not recording its {}",
+                write.getId(), write.getOperation().name(), write.getAttempts(), outcome);
+    }
+
+    private String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
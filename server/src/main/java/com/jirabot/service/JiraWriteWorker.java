@@ -0,0 +1,160 @@
+package com.jirabot.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jirabot.dto.CreateIssueRequest;
+import com.jirabot.entity.JiraWrite;
+import com.jirabot.entity.JiraWriteOperation;
+import com.jirabot.entity.User;
+import com.jirabot.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Drains the JIRA write outbox: claims due writes in batches and sends them
+ * on the outbox executor, reporting each outcome back to
+ * {@link JiraWriteOutboxService}. Each write's lease is renewed right before
+ * it is sent, and issue creations whose outcome is unknown are dead-lettered
+ * instead of retried.
+ */
+@Component
+public class JiraWriteWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraWriteWorker.class);
+
+    @Autowired
+    private JiraWriteOutboxService outboxService;
+
+    @Autowired
+    private JiraService jiraService;
+
+    @Autowired
+    private JiraSessionRegistry jiraSessionRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("jiraOutboxExecutor")
+    private ExecutorService jiraOutboxExecutor;
+
+    @Value("${app.jira.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.jira.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    @Scheduled(fixedDelayString = "${app.jira.outbox.poll-interval-ms:500}")
+    public void drain() {
+        if (!outboxService.isEnabled()) {
+            return;
+        }
+        List<JiraWrite> batch;
+        do {
+            batch = outboxService.claimDue(batchSize);
+            List<Future<?>> sends = new ArrayList<>();
+            for (JiraWrite write : batch) {
+                sends.add(jiraOutboxExecutor.submit(() -> send(write)));
+            }
+            for (Future<?> send : sends) {
+                try {
+                    send.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    logger.error("JIRA outbox send failed: {}", e.getCause().getMessage(), e.getCause());
+                }
+            }
+            // A full batch means more may be due, so keep draining without waiting for the next poll
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${app.jira.outbox.purge-interval-ms:3600000}")
+    public void purgeSucceeded() {
+        if (!outboxService.isEnabled()) {
+            return;
+        }
+        int purged = outboxService.purgeSucceeded(LocalDateTime.now().minusHours(retentionHours));
+        if (purged > 0) {
+            logger.info("Purged {} completed JIRA writes from the outbox", purged);
+        }
+    }
+
+    private void send(JiraWrite write) {
+        try {
+            User user = userRepository.findById(write.getUserId()).orElse(null);
+            if (user == null || user.getJiraToken() == null || user.getJiraToken().trim().isEmpty()) {
+                outboxService.markFailed(write, "User no longer has a JIRA token", false);
+                return;
+            }
+            JiraSession session = jiraSessionRegistry.getSession(user);
+            if (!outboxService.renewLease(write)) {
+                logger.warn("JIRA write {} ({}) lost its lease before it was sent; skipping attempt {}",
+                        write.getId(), write.getOperation().name(), write.getAttempts());
+                return;
+            }
+
+            String resultKey = null;
+            switch (write.getOperation()) {
+                case CREATE_ISSUE -> {
+                    CreateIssueRequest request = objectMapper.readValue(write.getPayload(), CreateIssueRequest.class);
+                    Object created = jiraService.createIssue(write.getProjectKey(), session, request);
+                    if (created instanceof Map<?, ?> body && body.get("key") != null) {
+                        resultKey = String.valueOf(body.get("key"));
+                    }
+                }
+                case UPDATE_LABELS -> jiraService.updateIssueLabels(write.getIssueKey(), session, write.getPayload());
+                case TRANSITION_ISSUE -> jiraService.transitionIssue(write.getIssueKey(), write.getPayload(), session);
+            }
+            outboxService.markSucceeded(write, resultKey);
+        } catch (Exception e) {
+            if (write.getOperation() != JiraWriteOperation.CREATE_ISSUE) {
+                outboxService.markFailed(write, e.getMessage(), isRetryable(e));
+                return;
+            }
+            // Creating an issue again could duplicate it, so only failures that cannot have created it are retried
+            switch (JiraService.CreateFailure.of(e)) {
+                case RESENDABLE -> outboxService.markFailed(write, e.getMessage(), true);
+                case OUTCOME_UNKNOWN -> outboxService.markFailed(write,
+                        "Outcome unknown, the issue may have been created in JIRA: " + e.getMessage(), false);
+                default -> outboxService.markFailed(write, e.getMessage(), false);
+            }
+        }
+    }
+
+    /**
+     * Throttling, server errors and connection failures are retried; other
+     * JIRA rejections and unreadable payloads will not succeed on a retry.
+     * Used for label updates and transitions, which are safe to repeat.
+     */
+    private boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HttpStatusCodeException statusError) {
+                int status = statusError.getStatusCode().value();
+                return status == 429 || status >= 500;
+            }
+            if (cause instanceof JsonProcessingException) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
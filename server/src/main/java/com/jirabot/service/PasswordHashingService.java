@@ -0,0 +1,150 @@
+package com.jirabot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hashes and checks passwords on the bounded {@code passwordHashingExecutor}
+ * instead of the calling request thread. When the pool's queue is full, or a
+ * hash has waited longer than {@code app.auth.password-hashing.timeout-ms},
+ * the call fails fast with {@link RejectedExecutionException}.
+ * <p>
+ * Metrics: {@code auth.password.hash} (hashing time by operation),
+ * {@code auth.password.hash.wait} (time queued) and
+ * {@code auth.password.hash.rejected}.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private ExecutorService passwordHashingExecutor;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.auth.password-hashing.timeout-ms:5000}")
+    private long timeoutMs;
+
+    /**
+     * Outcome of a password check; carries a new hash when the stored one used
+     * a lower cost than configured
+     */
+    public static final class Verification {
+        private final boolean matches;
+        private final String upgradedHash;
+
+        private Verification(boolean matches, String upgradedHash) {
+            this.matches = matches;
+            this.upgradedHash = upgradedHash;
+        }
+
+        public boolean matches() {
+            return matches;
+        }
+
+        public String getUpgradedHash() {
+            return upgradedHash;
+        }
+    }
+
+    /**
+     * @throws RejectedExecutionException if hashing is saturated
+     */
+    public String encode(String rawPassword) {
+        return run("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks the password and, if it matches a hash of lower cost than
+     * {@code app.auth.password-hashing.bcrypt-strength}, rehashes it in the
+     * same task
+     *
+     * @throws RejectedExecutionException if hashing is saturated
+     */
+    public Verification verify(String rawPassword, String encodedPassword) {
+        return run("verify", () -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return new Verification(false, null);
+            }
+            if (!passwordEncoder.upgradeEncoding(encodedPassword)) {
+                return new Verification(true, null);
+            }
+            return new Verification(true, timed("upgrade", () -> passwordEncoder.encode(rawPassword)));
+        });
+    }
+
+    private <T> T run(String operation, Callable<T> hashing) {
+        long submitted = System.nanoTime();
+        Future<T> result;
+        try {
+            result = passwordHashingExecutor.submit(() -> {
+                Timer.builder("auth.password.hash.wait")
+                        .description("Time password hashes waited for a hashing thread")
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+                return timed(operation, hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            reject(operation, "queue full");
+            throw e;
+        }
+
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            reject(operation, "timeout");
+            throw new RejectedExecutionException("Password hashing timed out after " + timeoutMs + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new RejectedExecutionException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private <T> T timed(String operation, Callable<T> hashing) throws Exception {
+        return Timer.builder("auth.password.hash")
+                .description("BCrypt time per password operation")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .recordCallable(hashing);
+    }
+
+    private void reject(String operation, String reason) {
+        Counter.builder("auth.password.hash.rejected")
+                .description("Password operations rejected because hashing was saturated")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        // Debug only: a credential-stuffing burst would otherwise flood the log
+        logger.debug("Rejected password {}: hashing is saturated ({})", operation, reason);
+    }
+}
@@ -0,0 +1,198 @@
+package com.jirabot.service;
+
+import com.jirabot.dto.CreateIssueRequest;
+import com.jirabot.dto.JiraProjectRequest;
+import com.jirabot.dto.JiraProjectResponse;
+import com.jirabot.service.JiraIssueStreamTransformer.IssuePage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Non-blocking variant of {@link JiraService} built on WebClient. Calls do not
+ * hold a servlet thread while JIRA is responding, so many slow tenants can be
+ * served concurrently. Request bodies and response shapes are the same as the
+ * blocking service.
+ */
+@Service
+public class ReactiveJiraService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveJiraService.class);
+
+    // JIRA caps search results at 100 per page
+    private static final int JIRA_MAX_SEARCH_PAGE_SIZE = 100;
+
+    @Autowired
+    private WebClient jiraWebClient;
+
+    @Autowired
+    private JiraIssueStreamTransformer issueStreamTransformer;
+
+    @Autowired
+    private JiraSessionRegistry jiraSessionRegistry;
+
+    public Mono<JiraProjectResponse> getProjects(JiraProjectRequest request) {
+        String baseUrl = jiraSessionRegistry.baseUrl(request.getAtlassianDomain()) + "/rest/api/3/project/search";
+
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromHttpUrl(baseUrl)
+                .queryParam("maxResults", request.getMaxResults())
+                .queryParam("startAt", request.getStartAt());
+
+        // Add search query if provided
+        if (request.getSearchQuery() != null && !request.getSearchQuery().trim().isEmpty()) {
+            uriBuilder.queryParam("query", request.getSearchQuery().trim());
+        }
+
+        URI uri = uriBuilder.build().encode().toUri();
+
+        logger.info("Calling Jira API: {} for domain: {}", uri, request.getAtlassianDomain());
+
+        return jiraWebClient.get()
+                .uri(uri)
+                .header("Authorization", basicAuth(request.getEmail(), request.getApiToken()))
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(JiraProjectResponse.class)
+                .doOnNext(response -> logger.info("Successfully fetched {} projects from Jira",
+                        response.getValues() != null ? response.getValues().size() : 0))
+                .onErrorMap(e -> new RuntimeException("Error fetching projects from Jira: " + e.getMessage(), e));
+    }
+
+    /**
+     * Pages through every issue of a project (optionally capped by
+     * {@code limit}). The returned Mono completes once the first page has been
+     * fetched, so request errors surface before anything is streamed; the inner
+     * Flux then emits one raw page at a time, requesting the next page only as
+     * the consumer asks for it. Consumers that prefetch a page overlap fetching
+     * with writing while memory stays bounded.
+     */
+    public Mono<Flux<IssuePage>> getProjectIssuePages(String projectKey, JiraSession session, int pageSize,
+            Integer limit) {
+        int size = Math.max(1, Math.min(pageSize, JIRA_MAX_SEARCH_PAGE_SIZE));
+        int max = limit != null && limit > 0 ? limit : Integer.MAX_VALUE;
+
+        return fetchIssuePage(session, projectKey, 0, Math.min(size, max))
+                .map(firstPage -> Flux.just(firstPage)
+                        .expand(page -> {
+                            int fetched = page.nextStartAt();
+                            return fetched >= 0 && fetched < max
+                                    ? fetchIssuePage(session, projectKey, fetched, Math.min(size, max - fetched))
+                                    : Mono.empty();
+                        })
+                        .onErrorMap(e -> new RuntimeException(
+                                "Error fetching issues from Jira: " + e.getMessage(), e)))
+                .onErrorMap(e -> new RuntimeException("Error fetching issues from Jira: " + e.getMessage(), e));
+    }
+
+    private Mono<IssuePage> fetchIssuePage(JiraSession session, String projectKey, int startAt, int maxResults) {
+        // Build URL manually to avoid double encoding of JQL query
+        String url = String.format("%s?jql=project=%s&maxResults=%d&startAt=%d&fields=%s",
+                session.url("/rest/api/3/search"), projectKey, maxResults, startAt,
+                "id,key,summary,status,priority,assignee,created,updated,issuetype,labels");
+
+        logger.info("Calling Jira API for project issues page: {} for project: {}", url, projectKey);
+
+        // Keep the page as raw bytes; it is flattened token by token when written out
+        return jiraWebClient.get()
+                .uri(URI.create(url))
+                .headers(headers -> headers.addAll(session.getReadHeaders()))
+                .retrieve()
+                .bodyToMono(byte[].class)
+                .map(body -> {
+                    try {
+                        return issueStreamTransformer.scan(body);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Unreadable JIRA search response", e);
+                    }
+                });
+    }
+
+    public Mono<Object> createIssue(String projectKey, JiraSession session, CreateIssueRequest request) {
+        String createIssueUrl = session.url("/rest/api/3/issue");
+        Map<String, Object> requestBody = JiraService.buildCreateIssueUpdate(projectKey, request);
+
+        logger.info("Calling JIRA API to create issue: {} with body: {}", createIssueUrl, requestBody);
+
+        return jiraWebClient.post()
+                .uri(URI.create(createIssueUrl))
+                .headers(headers -> headers.addAll(session.getWriteHeaders()))
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(Object.class)
+                .doOnNext(response -> logger.info("Successfully created issue in project: {}", projectKey))
+                .onErrorMap(e -> new RuntimeException("Error creating issue: " + e.getMessage(), e));
+    }
+
+    public Mono<Object> getIssueTransitions(String issueKey, JiraSession session) {
+        String transitionsUrl = session.url("/rest/api/3/issue/" + issueKey + "/transitions");
+
+        logger.info("Fetching transitions for issue: {} from URL: {}", issueKey, transitionsUrl);
+
+        return jiraWebClient.get()
+                .uri(URI.create(transitionsUrl))
+                .headers(headers -> headers.addAll(session.getReadHeaders()))
+                .retrieve()
+                .bodyToMono(Object.class)
+                .doOnNext(response -> logger.info("Successfully fetched transitions for issue: {}", issueKey))
+                .onErrorMap(e -> new RuntimeException("Error fetching transitions: " + e.getMessage(), e));
+    }
+
+    public Mono<Object> transitionIssue(String issueKey, String transitionId, JiraSession session) {
+        String transitionUrl = session.url("/rest/api/3/issue/" + issueKey + "/transitions");
+
+        logger.info("Applying transition {} to issue: {} with URL: {}", transitionId, issueKey, transitionUrl);
+
+        return jiraWebClient.post()
+                .uri(URI.create(transitionUrl))
+                .headers(headers -> headers.addAll(session.getWriteHeaders()))
+                .bodyValue(JiraService.buildTransitionBody(transitionId))
+                .retrieve()
+                .toBodilessEntity()
+                .doOnNext(response -> logger.info("Successfully applied transition {} to issue: {}", transitionId,
+                        issueKey))
+                .<Object>map(response -> Map.of("success", true, "message", "Transition applied successfully"))
+                .onErrorMap(e -> new RuntimeException("Error applying transition: " + e.getMessage(), e));
+    }
+
+    public Mono<Void> updateIssueLabels(String issueKey, JiraSession session, String ricefwCategory) {
+        String issueUrl = session.url("/rest/api/3/issue/" + issueKey);
+
+        logger.info("Updating labels for issue '{}' with RICEFW category '{}'", issueKey, ricefwCategory);
+
+        // Fetch current labels first so non-RICEFW labels are preserved
+        return jiraWebClient.get()
+                .uri(URI.create(issueUrl + "?fields=labels"))
+                .headers(headers -> headers.addAll(session.getReadHeaders()))
+                .retrieve()
+                .bodyToMono(Object.class)
+                .map(issue -> JiraService.buildLabelsUpdateBody(JiraService.extractLabels(issue), ricefwCategory))
+                .flatMap(requestBody -> jiraWebClient.put()
+                        .uri(URI.create(issueUrl))
+                        .headers(headers -> headers.addAll(session.getWriteHeaders()))
+                        .bodyValue(requestBody)
+                        .retrieve()
+                        .toBodilessEntity())
+                .doOnNext(response -> logger.info(
+                        "Successfully updated labels for issue: {} with preserved non-RICEFW labels", issueKey))
+                .then()
+                .onErrorMap(e -> new RuntimeException("Error updating labels for issue: " + e.getMessage(), e));
+    }
+
+    private String basicAuth(String email, String apiToken) {
+        String auth = email + ":" + apiToken;
+        return "Basic " + Base64.getEncoder().encodeToString(auth.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,39 @@
+package com.jirabot.service;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds repository calls and session token lookups to the current request's
+ * {@link RequestTimings}. Calls made outside a request are not timed.
+ */
+@Aspect
+@Component
+public class RequestTimingAspect {
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, RequestTimings.Phase.DB);
+    }
+
+    @Around("execution(* com.jirabot.service.AuthService.getUserByToken(..))"
+            + " || execution(* com.jirabot.service.AuthService.validateToken(..))")
+    public Object timeTokenLookup(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, RequestTimings.Phase.AUTH);
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, RequestTimings.Phase phase) throws Throwable {
+        RequestTimings timings = RequestTimings.current();
+        if (timings == null) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timings.add(phase, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.jirabot.service;
+
+import io.micrometer.context.ContextRegistry;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Time one API request spent per phase (token lookup, database, JIRA, Excel
+ * parsing and JSON serialization), reported as Server-Timing and in the
+ * access log. The timings of the current request are bound to the handling
+ * thread; {@link #wrap} carries them to executor threads and Reactor carries
+ * them to reactive continuations through context propagation.
+ * <p>
+ * Phases can overlap: a token lookup includes its own query, and concurrent
+ * JIRA calls of a bulk upload are summed, so the phases may add up to more
+ * than the request's wall time.
+ */
+public final class RequestTimings {
+
+    /**
+     * Key of the timings in the Reactor context
+     */
+    public static final String CONTEXT_KEY = "jirabot.request-timings";
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    static {
+        ContextRegistry.getInstance().registerThreadLocalAccessor(CONTEXT_KEY, CURRENT::get, CURRENT::set,
+                CURRENT::remove);
+    }
+
+    public enum Phase {
+        AUTH("auth", "Token lookup", "lookups"),
+        DB("db", "Database", "queries"),
+        JIRA("jira", "JIRA API", "calls"),
+        EXCEL("excel", "Excel parsing", "sheets"),
+        JSON("json", "JSON serialization", "bodies");
+
+        private final String metricName;
+        private final String displayName;
+        private final String units;
+
+        Phase(String metricName, String displayName, String units) {
+            this.metricName = metricName;
+            this.displayName = displayName;
+            this.units = units;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder[] nanos = new LongAdder[Phase.values().length];
+    private final LongAdder[] counts = new LongAdder[Phase.values().length];
+
+    public RequestTimings() {
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] = new LongAdder();
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Timings of the request handled by the calling thread, or null
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the timings to the calling thread and returns the previously bound
+     * timings, to be passed back to {@link #restore}
+     */
+    public static RequestTimings attach(RequestTimings timings) {
+        RequestTimings previous = CURRENT.get();
+        CURRENT.set(timings);
+        return previous;
+    }
+
+    public static void restore(RequestTimings previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Adds time to the current request's phase; a no-op outside a request
+     */
+    public static void record(Phase phase, long elapsedNanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(phase, elapsedNanos);
+        }
+    }
+
+    /**
+     * Runs the task with the calling thread's timings bound
+     */
+    public static Runnable wrap(Runnable task) {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return task;
+        }
+        return () -> {
+            RequestTimings previous = attach(timings);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    public void add(Phase phase, long elapsedNanos) {
+        nanos[phase.ordinal()].add(elapsedNanos);
+        counts[phase.ordinal()].increment();
+    }
+
+    public double millis(Phase phase) {
+        return nanos[phase.ordinal()].sum() / 1_000_000.0;
+    }
+
+    public long count(Phase phase) {
+        return counts[phase.ordinal()].sum();
+    }
+
+    public double elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+
+    /**
+     * Server-Timing header value: one entry per phase that ran, plus the
+     * total time so far as {@code app}
+     */
+    public String toServerTiming() {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            long count = count(phase);
+            if (count == 0) {
+                continue;
+            }
+            header.append(phase.metricName).append(";dur=").append(format(millis(phase)));
+            header.append(";desc=\"").append(phase.displayName);
+            if (count > 1) {
+                header.append(" (").append(count).append(' ').append(phase.units).append(')');
+            }
+            header.append("\", ");
+        }
+        header.append("app;dur=").append(format(elapsedMillis()));
+        return header.toString();
+    }
+
+    /**
+     * Phase durations and counts as logfmt pairs, e.g.
+     * {@code db_ms=2.1 db_count=3}
+     */
+    public String toLogFields() {
+        StringBuilder fields = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            if (fields.length() > 0) {
+                fields.append(' ');
+            }
+            fields.append(phase.metricName).append("_ms=").append(format(millis(phase)))
+                    .append(' ').append(phase.metricName).append("_count=").append(count(phase));
+        }
+        return fields.toString();
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.1f", millis);
+    }
+}
@@ -0,0 +1,181 @@
+package com.jirabot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.jirabot.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Caches the user of each valid session token so authenticating a request
+ * does not query the database every time. Entries live for at most
+ * {@code app.auth.token-cache.ttl-seconds} and never beyond the token's own
+ * expiry; unknown or expired tokens are not cached. AuthService drops entries
+ * on logout, on login (which rotates the token) and when the user is updated,
+ * once the change has been committed.
+ * Cached users are shared by concurrent requests and must not be modified;
+ * drop the entry instead.
+ * <p>
+ * The TTL bounds how long a change made elsewhere (e.g. a logout handled by
+ * another instance) can go unnoticed. Metrics are published as the
+ * {@code session-tokens} cache ({@code cache.gets}, {@code cache.size}, ...).
+ */
+@Component
+public class SessionTokenCache {
+
+    public static final String CACHE_NAME = "session-tokens";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.auth.token-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.auth.token-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    @Value("${app.auth.token-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, CachedUser> users;
+
+    @PostConstruct
+    void init() {
+        users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry(Duration.ofSeconds(ttlSeconds)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, CACHE_NAME);
+    }
+
+    /**
+     * A token's user and the time the token expires
+     */
+    private static final class CachedUser {
+        private final User user;
+        private final LocalDateTime tokenExpiry;
+
+        private CachedUser(User user, LocalDateTime tokenExpiry) {
+            this.user = user;
+            this.tokenExpiry = tokenExpiry;
+        }
+    }
+
+    /**
+     * Expires an entry after the TTL or when the session token expires,
+     * whichever comes first
+     */
+    private static final class TokenExpiry implements Expiry<String, CachedUser> {
+        private final long ttlNanos;
+
+        private TokenExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String token, CachedUser cached, long currentTime) {
+            if (cached.tokenExpiry == null) {
+                return 0;
+            }
+            long untilTokenExpiry = Duration.between(LocalDateTime.now(), cached.tokenExpiry).toNanos();
+            return Math.max(0, Math.min(ttlNanos, untilTokenExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, CachedUser cached, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, cached, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, CachedUser cached, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Returns the cached user of the token, or looks it up with the loader and
+     * caches the result if the token is valid. The token expires when the
+     * user's {@code tokenExpiry} says.
+     */
+    public Optional<User> get(String token, Function<String, Optional<User>> loader) {
+        return get(token, null, loader);
+    }
+
+    /**
+     * Like {@link #get(String, Function)} for tokens that carry their own
+     * expiry, such as signed tokens
+     */
+    public Optional<User> get(String token, LocalDateTime tokenExpiry, Function<String, Optional<User>> loader) {
+        if (!enabled || token == null) {
+            return loader.apply(token);
+        }
+        // Concurrent lookups of the same token share one query; a null result is not cached
+        CachedUser cached = users.get(token, key -> loader.apply(key)
+                .map(user -> new CachedUser(user, tokenExpiry != null ? tokenExpiry : user.getTokenExpiry()))
+                .orElse(null));
+        return Optional.ofNullable(cached).map(entry -> entry.user);
+    }
+
+    public void invalidate(String token) {
+        if (token != null) {
+            afterCommit(() -> users.invalidate(token));
+        }
+    }
+
+    /**
+     * Drops every cached token of the user
+     */
+    public void invalidateUser(Long userId) {
+        if (userId != null) {
+            afterCommit(() -> users.asMap().values().removeIf(cached -> userId.equals(cached.user.getId())));
+        }
+    }
+
+    /**
+     * Drops every cached token of the given users in one pass
+     */
+    public void invalidateUsers(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            Set<Long> ids = new HashSet<>(userIds);
+            afterCommit(() -> users.asMap().values().removeIf(cached -> ids.contains(cached.user.getId())));
+        }
+    }
+
+    /**
+     * Evicts once the caller's transaction has committed. Evicting earlier
+     * would let a concurrent request reload the old, still committed row and
+     * cache it again for up to the TTL.
+     */
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    public long size() {
+        return users.estimatedSize();
+    }
+}
@@ -0,0 +1,280 @@
+package com.jirabot.service;
+
+import com.jirabot.entity.RevokedToken;
+import com.jirabot.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies HMAC-signed session tokens, an alternative to random
+ * tokens stored in {@code users.token} enabled with
+ * {@code app.auth.signed-tokens.enabled}. A signed token carries the user id,
+ * issue and expiry time and a token id, so it is verified without a database
+ * lookup:
+ *
+ * <pre>
+ * st1.&lt;userId&gt;.&lt;issuedAt ms&gt;.&lt;expiresAt s&gt;.&lt;tokenId&gt;.&lt;HMAC-SHA256, base64url&gt;
+ * </pre>
+ *
+ * Logging out revokes one token id; logging out everywhere revokes every
+ * token of the user issued until then. Revocations are written to the
+ * {@code revoked_tokens} table and kept in memory; each instance polls the
+ * table for revocations made by other instances every
+ * {@code app.auth.signed-tokens.revocation-sync-ms}. Entries are dropped once
+ * the tokens they revoke have expired, which keeps the set small.
+ * <p>
+ * All instances must share {@code app.auth.signed-tokens.secret}.
+ */
+@Service
+public class SignedTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SignedTokenService.class);
+
+    public static final String TOKEN_PREFIX = "st1.";
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${app.auth.signed-tokens.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.auth.signed-tokens.secret:}")
+    private String secret;
+
+    @Value("${app.auth.signed-tokens.validity-days:30}")
+    private long validityDays;
+
+    // Revocations are read again this far back, so rows committed late by other instances are not missed
+    @Value("${app.auth.signed-tokens.revocation-sync-overlap-seconds:60}")
+    private long syncOverlapSeconds;
+
+    private final SecureRandom random = new SecureRandom();
+    // Revoked token id -> token expiry (epoch seconds)
+    private final Map<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+    // User id -> tokens issued up to this time are revoked (epoch milliseconds)
+    private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSync = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private SecretKeySpec key;
+    private ThreadLocal<Mac> macs;
+
+    /**
+     * Contents of a verified token
+     */
+    public static final class TokenClaims {
+        private final long userId;
+        private final long issuedAt; // epoch milliseconds
+        private final long expiresAt; // epoch seconds
+        private final String tokenId;
+
+        private TokenClaims(long userId, long issuedAt, long expiresAt, String tokenId) {
+            this.userId = userId;
+            this.issuedAt = issuedAt;
+            this.expiresAt = expiresAt;
+            this.tokenId = tokenId;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public String getTokenId() {
+            return tokenId;
+        }
+
+        public LocalDateTime getExpiresAt() {
+            return toLocalDateTime(expiresAt);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length == 0) {
+            secretBytes = new byte[MIN_SECRET_BYTES];
+            random.nextBytes(secretBytes);
+            logger.warn("app.auth.signed-tokens.secret is not set; using a random key, so signed tokens "
+                    + "will not verify on other instances or after a restart");
+        } else if (secretBytes.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException(
+                    "app.auth.signed-tokens.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        key = new SecretKeySpec(secretBytes, HMAC_ALGORITHM);
+        macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+        syncRevocations();
+        logger.info("Signed session tokens enabled ({} revocations loaded)",
+                revokedTokenIds.size() + revokedBefore.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public static boolean isSignedToken(String token) {
+        return token != null && token.startsWith(TOKEN_PREFIX);
+    }
+
+    /**
+     * Issues a token for the user, valid for
+     * {@code app.auth.signed-tokens.validity-days}
+     */
+    public String issue(Long userId) {
+        if (!enabled) {
+            throw new IllegalStateException("Signed session tokens are not enabled");
+        }
+        byte[] id = new byte[12];
+        random.nextBytes(id);
+        long now = System.currentTimeMillis();
+        String payload = TOKEN_PREFIX + userId + "." + now + "." + (now / 1000 + validityDays * 86_400L) + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(id);
+        return payload + "." + sign(payload);
+    }
+
+    /**
+     * Returns the token's claims if it is signed with our key, has not expired
+     * and has not been revoked
+     */
+    public Optional<TokenClaims> verify(String token) {
+        if (!enabled || !isSignedToken(token)) {
+            return Optional.empty();
+        }
+        int signatureStart = token.lastIndexOf('.');
+        if (signatureStart < TOKEN_PREFIX.length()) {
+            return Optional.empty();
+        }
+        String payload = token.substring(0, signatureStart);
+        byte[] expected = sign(payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(signatureStart + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            return Optional.empty();
+        }
+
+        String[] parts = payload.substring(TOKEN_PREFIX.length()).split("\\.");
+        if (parts.length != 4) {
+            return Optional.empty();
+        }
+        TokenClaims claims;
+        try {
+            claims = new TokenClaims(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                    parts[3]);
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+
+        if (claims.expiresAt <= Instant.now().getEpochSecond() || isRevoked(claims)) {
+            return Optional.empty();
+        }
+        return Optional.of(claims);
+    }
+
+    /**
+     * Revokes one token (logout)
+     */
+    public void revoke(TokenClaims claims) {
+        revokedTokenIds.put(claims.tokenId, claims.expiresAt);
+        revokedTokenRepository.save(new RevokedToken(claims.tokenId, claims.userId, null,
+                toLocalDateTime(claims.expiresAt)));
+    }
+
+    /**
+     * Revokes every token of the user issued up to now (logout everywhere)
+     */
+    public void revokeAll(Long userId) {
+        long now = System.currentTimeMillis();
+        revokedBefore.merge(userId, now, Math::max);
+        LocalDateTime issuedBefore = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZoneId.systemDefault());
+        revokedTokenRepository.save(new RevokedToken(null, userId, issuedBefore,
+                issuedBefore.plusDays(validityDays)));
+    }
+
+    /**
+     * Picks up revocations made by other instances
+     */
+    @Scheduled(fixedDelayString = "${app.auth.signed-tokens.revocation-sync-ms:5000}")
+    public void syncRevocations() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (RevokedToken revoked : revokedTokenRepository.findRevokedSince(lastSync.minusSeconds(syncOverlapSeconds),
+                now)) {
+            long expiresAt = toEpochSecond(revoked.getExpiresAt());
+            if (revoked.getTokenId() != null) {
+                revokedTokenIds.put(revoked.getTokenId(), expiresAt);
+            } else if (revoked.getIssuedBefore() != null) {
+                revokedBefore.merge(revoked.getUserId(),
+                        revoked.getIssuedBefore().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli(), Math::max);
+            }
+        }
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${app.auth.signed-tokens.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        long now = Instant.now().getEpochSecond();
+        revokedTokenIds.values().removeIf(expiresAt -> expiresAt <= now);
+        // A user-wide revocation is only needed while tokens issued before it can still be valid
+        revokedBefore.values().removeIf(before -> before / 1000 + validityDays * 86_400L <= now);
+        int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (purged > 0) {
+            logger.info("Purged {} expired token revocations", purged);
+        }
+    }
+
+    private boolean isRevoked(TokenClaims claims) {
+        if (revokedTokenIds.containsKey(claims.tokenId)) {
+            return true;
+        }
+        Long before = revokedBefore.get(claims.userId);
+        return before != null && claims.issuedAt <= before;
+    }
+
+    private String sign(String payload) {
+        byte[] signature = macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochSecond) {
+        return LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneId.systemDefault());
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
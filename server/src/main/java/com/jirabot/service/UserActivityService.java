@@ -0,0 +1,154 @@
+package com.jirabot.service;
+
+import com.jirabot.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * Write-behind for user bookkeeping that does not have to be stored before
+ * the request finishes: last login, last seen and the Atlassian domain
+ * remembered from a project search. Updates are collected in memory, keeping
+ * only the newest value per user, and written every
+ * {@code app.users.activity.flush-interval-ms} with targeted UPDATE
+ * statements instead of rewriting the user row on the request path. Login and
+ * last-seen times are truncated to the second, so users with the same value
+ * (the same second, or the same Atlassian domain) share one
+ * {@code UPDATE ... WHERE id IN (...)}.
+ * <p>
+ * Pending updates are lost if the process dies before a flush; they are
+ * flushed on a clean shutdown.
+ */
+@Service
+public class UserActivityService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserActivityService.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SessionTokenCache sessionTokenCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.users.activity.batch-size:500}")
+    private int batchSize;
+
+    private final Map<Long, LocalDateTime> pendingLogins = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> pendingSeen = new ConcurrentHashMap<>();
+    private final Map<Long, String> pendingDomains = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("users.activity.pending", this, UserActivityService::pendingCount)
+                .description("User bookkeeping updates waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public void recordLogin(Long userId, LocalDateTime loginTime) {
+        pendingLogins.merge(userId, loginTime.truncatedTo(ChronoUnit.SECONDS), UserActivityService::latest);
+    }
+
+    public void recordSeen(Long userId) {
+        pendingSeen.merge(userId, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS), UserActivityService::latest);
+    }
+
+    /**
+     * Stores the domain unless the user already has one by the time of the
+     * flush
+     */
+    public void recordAtlassianDomain(Long userId, String domain) {
+        pendingDomains.putIfAbsent(userId, domain);
+    }
+
+    public int pendingCount() {
+        return pendingLogins.size() + pendingSeen.size() + pendingDomains.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.users.activity.flush-interval-ms:5000}")
+    public void flush() {
+        int written = flushLastSeen() + flushLastLogins() + flushDomains();
+        if (written > 0) {
+            logger.debug("Wrote {} user bookkeeping updates", written);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private int flushLastSeen() {
+        return writeGrouped("last-seen times", pendingSeen, userRepository::updateLastSeen,
+                (userId, seenAt) -> pendingSeen.merge(userId, seenAt, UserActivityService::latest));
+    }
+
+    private int flushLastLogins() {
+        return writeGrouped("last logins", pendingLogins, userRepository::updateLastLogin,
+                (userId, loginTime) -> pendingLogins.merge(userId, loginTime, UserActivityService::latest));
+    }
+
+    private int flushDomains() {
+        // Cached users still have no domain, so they are dropped once it is stored
+        return writeGrouped("Atlassian domains", pendingDomains, (userIds, domain) -> {
+            int written = userRepository.updateAtlassianDomainIfUnset(userIds, domain);
+            sessionTokenCache.invalidateUsers(userIds);
+            return written;
+        }, pendingDomains::putIfAbsent);
+    }
+
+    /**
+     * Takes the pending updates and writes them with one
+     * {@code UPDATE ... WHERE id IN (...)} per value and batch of users. Users
+     * whose batch fails are put back for the next flush.
+     */
+    private <V> int writeGrouped(String what, Map<Long, V> pending, BiFunction<List<Long>, V, Integer> update,
+            BiConsumer<Long, V> requeue) {
+        Map<V, List<Long>> usersByValue = new HashMap<>();
+        for (Long userId : List.copyOf(pending.keySet())) {
+            V value = pending.remove(userId);
+            if (value != null) {
+                usersByValue.computeIfAbsent(value, v -> new ArrayList<>()).add(userId);
+            }
+        }
+
+        int written = 0;
+        for (Map.Entry<V, List<Long>> entry : usersByValue.entrySet()) {
+            List<Long> userIds = entry.getValue();
+            for (int start = 0; start < userIds.size(); start += batchSize) {
+                List<Long> batch = userIds.subList(start, Math.min(start + batchSize, userIds.size()));
+                try {
+                    written += update.apply(batch, entry.getKey());
+                } catch (RuntimeException e) {
+                    logger.warn("Could not write {} of {} users, retrying later: {}", what, batch.size(),
+                            e.getMessage());
+                    batch.forEach(userId -> requeue.accept(userId, entry.getKey()));
+                }
+            }
+        }
+        return written;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
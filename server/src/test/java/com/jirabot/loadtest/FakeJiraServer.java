@@ -0,0 +1,434 @@
+package com.jirabot.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the JIRA Cloud REST API, for load tests and local
+ * runs without an Atlassian tenant. Serves {@code /{domain}/rest/api/3/...}
+ * on its own port, so pointing {@code app.jira.base-url} at
+ * {@code http://localhost:<port>/%s} routes every JIRA call here.
+ * <p>
+ * Supports issue search with pagination, single and bulk create, labels,
+ * transitions, create metadata and project search. Latency, server error
+ * rate, random 429 throttling, a per-domain request rate limit and the rate
+ * of rows a bulk create rejects are configured under
+ * {@code app.fake-jira.*}. Started only when {@code app.fake-jira.enabled}
+ * is true (the test profile).
+ */
+@Component
+@ConditionalOnProperty(name = "app.fake-jira.enabled", havingValue = "true")
+public class FakeJiraServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeJiraServer.class);
+
+    private static final Pattern API_PATH = Pattern.compile("^/([^/]+)/rest/api/\\d+(/.*)$");
+    private static final Pattern JQL_PROJECT = Pattern.compile("project\\s*=\\s*\"?([A-Za-z0-9_]+)");
+    private static final List<String> ISSUE_TYPES = List.of("Task", "Bug", "Story", "Sub-task");
+    private static final List<String> PRIORITIES = List.of("Highest", "High", "Medium", "Low", "Lowest");
+    private static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.fake-jira.port:8089}")
+    private int port;
+
+    @Value("${app.fake-jira.threads:200}")
+    private int threads;
+
+    @Value("${app.fake-jira.latency-ms:50}")
+    private long latencyMs;
+
+    @Value("${app.fake-jira.latency-jitter-ms:25}")
+    private long latencyJitterMs;
+
+    @Value("${app.fake-jira.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${app.fake-jira.throttle-rate:0.0}")
+    private double throttleRate;
+
+    @Value("${app.fake-jira.rate-limit-per-second:0}")
+    private int rateLimitPerSecond;
+
+    @Value("${app.fake-jira.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Value("${app.fake-jira.row-error-rate:0.0}")
+    private double rowErrorRate;
+
+    @Value("${app.fake-jira.issues-per-project:1000}")
+    private int issuesPerProject;
+
+    @Value("${app.fake-jira.projects:25}")
+    private int projectCount;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private final AtomicLong issueIds = new AtomicLong(10000);
+    private final Map<String, RateWindow> rateWindows = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> requestCounts = new ConcurrentHashMap<>();
+
+    // Requests per domain in the current one-second window
+    private static final class RateWindow {
+        private long second;
+        private int count;
+
+        synchronized boolean tryAcquire(int limit) {
+            long now = System.currentTimeMillis() / 1000;
+            if (now != second) {
+                second = now;
+                count = 0;
+            }
+            return ++count <= limit;
+        }
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "fake-jira-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Fake JIRA listening on http://localhost:{} (latency {}±{} ms, error rate {}, throttle rate {}, "
+                + "rate limit {}/s per domain)", port, latencyMs, latencyJitterMs, errorRate, throttleRate,
+                rateLimitPerSecond);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Requests served so far, by "METHOD operation"
+     */
+    public Map<String, Long> getRequestCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        requestCounts.forEach((key, count) -> counts.put(key, count.get()));
+        return counts;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Matcher matcher = API_PATH.matcher(exchange.getRequestURI().getPath());
+            if (!matcher.matches()) {
+                send(exchange, 404, error("Unknown path " + exchange.getRequestURI().getPath()));
+                return;
+            }
+            String domain = matcher.group(1);
+            String resource = matcher.group(2);
+            String method = exchange.getRequestMethod();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+
+            simulateLatency();
+            if (rateLimitPerSecond > 0
+                    && !rateWindows.computeIfAbsent(domain, d -> new RateWindow()).tryAcquire(rateLimitPerSecond)) {
+                throttle(exchange);
+                return;
+            }
+            if (chance(throttleRate)) {
+                throttle(exchange);
+                return;
+            }
+            if (chance(errorRate)) {
+                send(exchange, 503, error("Simulated JIRA outage"));
+                return;
+            }
+
+            route(exchange, domain, method, resource, body);
+        } catch (JsonProcessingException e) {
+            send(exchange, 400, error("Malformed JSON body: " + e.getOriginalMessage()));
+        } catch (RuntimeException e) {
+            logger.warn("Fake JIRA failed to handle {}: {}", exchange.getRequestURI(), e.getMessage());
+            send(exchange, 500, error(String.valueOf(e.getMessage())));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, String domain, String method, String resource, byte[] body)
+            throws IOException {
+        Map<String, String> query = query(exchange);
+
+        if ("GET".equals(method) && resource.equals("/search")) {
+            count(method, "search");
+            send(exchange, 200, search(domain, query));
+        } else if ("GET".equals(method) && resource.equals("/project/search")) {
+            count(method, "projects");
+            send(exchange, 200, projects(query));
+        } else if ("POST".equals(method) && resource.equals("/issue")) {
+            count(method, "create");
+            JsonNode fields = objectMapper.readTree(body).path("fields");
+            send(exchange, 201, createdIssue(domain, fields.path("project").path("key").asText("FAKE")));
+        } else if ("POST".equals(method) && resource.equals("/issue/bulk")) {
+            count(method, "create_bulk");
+            bulkCreate(exchange, domain, objectMapper.readTree(body));
+        } else if ("GET".equals(method) && resource.matches("/issue/createmeta/[^/]+/issuetypes")) {
+            count(method, "createmeta");
+            send(exchange, 200, issueTypes());
+        } else if ("GET".equals(method) && resource.matches("/issue/createmeta/[^/]+/issuetypes/\\d+")) {
+            count(method, "createmeta");
+            send(exchange, 200, issueTypeFields());
+        } else if (resource.matches("/issue/[^/]+/transitions")) {
+            count(method, "GET".equals(method) ? "transitions" : "transition");
+            if ("GET".equals(method)) {
+                send(exchange, 200, transitions());
+            } else {
+                sendEmpty(exchange, 204);
+            }
+        } else if (resource.matches("/issue/[^/]+")) {
+            count(method, "PUT".equals(method) ? "labels" : "issue");
+            if ("GET".equals(method)) {
+                ObjectNode issue = objectMapper.createObjectNode();
+                issue.putObject("fields").putArray("labels").add("existing");
+                send(exchange, 200, issue);
+            } else {
+                sendEmpty(exchange, 204);
+            }
+        } else {
+            count(method, "unknown");
+            send(exchange, 404, error("Not supported by the fake JIRA: " + method + " " + resource));
+        }
+    }
+
+    private ObjectNode search(String domain, Map<String, String> query) {
+        int startAt = Math.max(0, intParam(query, "startAt", 0));
+        int maxResults = Math.min(MAX_PAGE_SIZE, Math.max(1, intParam(query, "maxResults", 50)));
+        String projectKey = projectKeyFromJql(query.getOrDefault("jql", ""));
+
+        ObjectNode page = objectMapper.createObjectNode();
+        page.put("expand", "names,schema");
+        page.put("startAt", startAt);
+        page.put("maxResults", maxResults);
+        page.put("total", issuesPerProject);
+        ArrayNode issues = page.putArray("issues");
+        for (int i = startAt; i < Math.min(startAt + maxResults, issuesPerProject); i++) {
+            ObjectNode issue = issues.addObject();
+            issue.put("id", String.valueOf(i + 1));
+            issue.put("key", projectKey + "-" + (i + 1));
+            issue.put("self", "http://localhost:" + port + "/" + domain + "/rest/api/3/issue/" + (i + 1));
+            ObjectNode fields = issue.putObject("fields");
+            fields.put("summary", "Generated issue " + (i + 1));
+            fields.putObject("status").put("name", i % 3 == 0 ? "Done" : "To Do");
+            fields.putObject("priority").put("name", PRIORITIES.get(i % PRIORITIES.size()));
+            fields.putNull("assignee");
+            fields.put("created", "2024-01-01T09:00:00.000+0000");
+            fields.put("updated", "2024-01-02T09:00:00.000+0000");
+            fields.putObject("issuetype").put("name", ISSUE_TYPES.get(i % 3));
+            fields.putArray("labels").add("generated");
+        }
+        return page;
+    }
+
+    private ObjectNode projects(Map<String, String> query) {
+        int startAt = Math.max(0, intParam(query, "startAt", 0));
+        int maxResults = Math.min(MAX_PAGE_SIZE, Math.max(1, intParam(query, "maxResults", 50)));
+
+        ObjectNode page = objectMapper.createObjectNode();
+        page.put("startAt", startAt);
+        page.put("maxResults", maxResults);
+        page.put("total", projectCount);
+        page.put("isLast", startAt + maxResults >= projectCount);
+        ArrayNode values = page.putArray("values");
+        for (int i = startAt; i < Math.min(startAt + maxResults, projectCount); i++) {
+            ObjectNode project = values.addObject();
+            project.put("id", String.valueOf(10000 + i));
+            project.put("key", "P" + (i + 1));
+            project.put("name", "Project " + (i + 1));
+            project.put("projectTypeKey", "software");
+        }
+        return page;
+    }
+
+    private void bulkCreate(HttpExchange exchange, String domain, JsonNode request) throws IOException {
+        ObjectNode response = objectMapper.createObjectNode();
+        ArrayNode issues = response.putArray("issues");
+        ArrayNode errors = response.putArray("errors");
+
+        JsonNode updates = request.path("issueUpdates");
+        for (int i = 0; i < updates.size(); i++) {
+            JsonNode fields = updates.get(i).path("fields");
+            if (chance(rowErrorRate)) {
+                ObjectNode error = errors.addObject();
+                error.put("status", 400);
+                error.put("failedElementNumber", i);
+                ObjectNode elementErrors = error.putObject("elementErrors");
+                elementErrors.putArray("errorMessages");
+                elementErrors.putObject("errors").put("summary", "Simulated validation error");
+            } else {
+                issues.add(createdIssue(domain, fields.path("project").path("key").asText("FAKE")));
+            }
+        }
+        send(exchange, issues.isEmpty() && !errors.isEmpty() ? 400 : 201, response);
+    }
+
+    private ObjectNode createdIssue(String domain, String projectKey) {
+        long id = issueIds.incrementAndGet();
+        ObjectNode issue = objectMapper.createObjectNode();
+        issue.put("id", String.valueOf(id));
+        issue.put("key", projectKey + "-" + id);
+        issue.put("self", "http://localhost:" + port + "/" + domain + "/rest/api/3/issue/" + id);
+        return issue;
+    }
+
+    private ObjectNode issueTypes() {
+        ObjectNode page = objectMapper.createObjectNode();
+        page.put("startAt", 0);
+        page.put("maxResults", 50);
+        page.put("total", ISSUE_TYPES.size());
+        ArrayNode types = page.putArray("issueTypes");
+        for (int i = 0; i < ISSUE_TYPES.size(); i++) {
+            ObjectNode type = types.addObject();
+            type.put("id", String.valueOf(i + 1));
+            type.put("name", ISSUE_TYPES.get(i));
+            type.put("subtask", ISSUE_TYPES.get(i).equals("Sub-task"));
+        }
+        return page;
+    }
+
+    private ObjectNode issueTypeFields() {
+        ObjectNode page = objectMapper.createObjectNode();
+        page.put("startAt", 0);
+        page.put("maxResults", 50);
+        page.put("total", 2);
+        ArrayNode fields = page.putArray("fields");
+        fields.addObject().put("fieldId", "summary").put("required", true);
+        ObjectNode priority = fields.addObject().put("fieldId", "priority").put("required", false);
+        ArrayNode allowed = priority.putArray("allowedValues");
+        PRIORITIES.forEach(name -> allowed.addObject().put("name", name));
+        return page;
+    }
+
+    private ObjectNode transitions() {
+        ObjectNode response = objectMapper.createObjectNode();
+        ArrayNode transitions = response.putArray("transitions");
+        String[] names = { "To Do", "In Progress", "Done" };
+        for (int i = 0; i < names.length; i++) {
+            ObjectNode transition = transitions.addObject();
+            transition.put("id", String.valueOf((i + 1) * 10 + 1));
+            transition.put("name", names[i]);
+            transition.putObject("to").put("name", names[i]);
+        }
+        return response;
+    }
+
+    private void throttle(HttpExchange exchange) throws IOException {
+        count(exchange.getRequestMethod(), "throttled");
+        exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+        send(exchange, 429, error("Rate limit exceeded"));
+    }
+
+    private void simulateLatency() {
+        long jitter = latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMs + 1) : 0;
+        long delay = latencyMs + jitter;
+        if (delay > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean chance(double rate) {
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private void count(String method, String operation) {
+        requestCounts.computeIfAbsent(method + " " + operation, key -> new AtomicLong()).incrementAndGet();
+    }
+
+    private ObjectNode error(String message) {
+        ObjectNode error = objectMapper.createObjectNode();
+        error.putArray("errorMessages").add(message);
+        error.putObject("errors");
+        return error;
+    }
+
+    private void send(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void sendEmpty(HttpExchange exchange, int status) throws IOException {
+        exchange.sendResponseHeaders(status, -1);
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, StandardCharsets.UTF_8);
+            String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+            params.put(name, value);
+        }
+        return params;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) {
+        try {
+            return query.containsKey(name) ? Integer.parseInt(query.get(name)) : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    private static String projectKeyFromJql(String jql) {
+        Matcher matcher = JQL_PROJECT.matcher(jql);
+        return matcher.find() ? matcher.group(1).toUpperCase(Locale.ROOT) : "FAKE";
+    }
+}
@@ -0,0 +1,374 @@
+package com.jirabot.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load-test harness for the /projects endpoints. Once the application has
+ * started it signs up a few users and drives each configured scenario at
+ * {@code app.loadtest.concurrency} parallel clients, then logs requests,
+ * errors, throughput and p50/p95/p99/max latency per scenario:
+ * <ul>
+ * <li>{@code issues}: GET /projects/{key}/issues, streaming every page</li>
+ * <li>{@code create}: POST /projects/{key}/issues</li>
+ * <li>{@code bulk}: POST /projects/{key}/issues/bulk with a generated
+ * workbook of {@code app.loadtest.bulk-rows} rows</li>
+ * </ul>
+ * Lives in the test sources, so it is not packaged; run it with the test
+ * profile, where JIRA is the in-process {@link FakeJiraServer}:
+ * {@code mvn spring-boot:test-run -Dspring-boot.run.profiles=test -Dspring-boot.run.arguments=--app.loadtest.enabled=true}
+ */
+@Component
+@ConditionalOnProperty(name = "app.loadtest.enabled", havingValue = "true")
+public class LoadTestRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private static final String XLSX_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    private ObjectProvider<FakeJiraServer> fakeJiraServer;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+
+    @Value("${app.loadtest.scenarios:issues,create,bulk}")
+    private List<String> scenarios;
+
+    @Value("${app.loadtest.concurrency:16}")
+    private int concurrency;
+
+    @Value("${app.loadtest.requests:500}")
+    private int requestsPerScenario;
+
+    @Value("${app.loadtest.duration-seconds:0}")
+    private int durationSeconds;
+
+    @Value("${app.loadtest.warmup-requests:20}")
+    private int warmupRequests;
+
+    @Value("${app.loadtest.users:4}")
+    private int userCount;
+
+    @Value("${app.loadtest.project-key:LOAD}")
+    private String projectKey;
+
+    @Value("${app.loadtest.issues-page-size:100}")
+    private int issuesPageSize;
+
+    @Value("${app.loadtest.bulk-rows:200}")
+    private int bulkRows;
+
+    @Value("${app.loadtest.request-timeout-seconds:120}")
+    private int requestTimeoutSeconds;
+
+    @Value("${app.loadtest.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    /**
+     * One HTTP call of a scenario; returns the response status
+     */
+    @FunctionalInterface
+    private interface Call {
+        int execute(String sessionToken, int sequence) throws Exception;
+    }
+
+    /**
+     * Latencies and outcomes of one scenario
+     */
+    private static final class ScenarioResult {
+        private final String name;
+        private final long[] latencies;
+        private final AtomicInteger recorded = new AtomicInteger();
+        private final AtomicInteger errors = new AtomicInteger();
+        private final Map<String, AtomicInteger> statuses = new TreeMap<>();
+        private long wallNanos;
+
+        private ScenarioResult(String name, int capacity) {
+            this.name = name;
+            this.latencies = new long[capacity];
+        }
+
+        private void record(long nanos, String outcome, boolean success) {
+            int index = recorded.getAndIncrement();
+            if (index < latencies.length) {
+                latencies[index] = nanos;
+            }
+            if (!success) {
+                errors.incrementAndGet();
+            }
+            synchronized (statuses) {
+                statuses.computeIfAbsent(outcome, key -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+
+        private String report() {
+            int count = Math.min(recorded.get(), latencies.length);
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            double seconds = wallNanos / 1_000_000_000.0;
+            return String.format(Locale.ROOT,
+                    "%-8s requests=%d errors=%d throughput=%.1f req/s p50=%.1f ms p95=%.1f ms p99=%.1f ms "
+                            + "max=%.1f ms statuses=%s",
+                    name, recorded.get(), errors.get(), seconds > 0 ? recorded.get() / seconds : 0.0,
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    count > 0 ? sorted[count - 1] / 1_000_000.0 : 0.0, statuses);
+        }
+
+        // Nearest-rank percentile in milliseconds
+        private static double percentile(long[] sorted, int percentile) {
+            if (sorted.length == 0) {
+                return 0.0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        baseUrl = "http://localhost:" + serverPort + contextPath;
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(2, concurrency)))
+                .build();
+
+        int exitCode = 0;
+        try {
+            List<String> tokens = signUpUsers();
+            logger.info("Load test against {}: scenarios {}, concurrency {}, {} per scenario, {} users",
+                    baseUrl, scenarios, concurrency,
+                    durationSeconds > 0 ? durationSeconds + "s" : requestsPerScenario + " requests", tokens.size());
+
+            List<ScenarioResult> results = new ArrayList<>();
+            for (String scenario : scenarios) {
+                Call call = scenario(scenario.trim());
+                if (call == null) {
+                    logger.warn("Unknown load test scenario '{}' (expected issues, create or bulk)", scenario);
+                    continue;
+                }
+                if (warmupRequests > 0) {
+                    drive(scenario.trim() + "-warmup", call, tokens, warmupRequests, 0);
+                }
+                ScenarioResult result = drive(scenario.trim(), call, tokens, requestsPerScenario, durationSeconds);
+                results.add(result);
+                logger.info("Scenario finished: {}", result.report());
+            }
+
+            StringBuilder report = new StringBuilder("Load test report (concurrency ").append(concurrency)
+                    .append(")");
+            results.forEach(result -> report.append(System.lineSeparator()).append("  ").append(result.report()));
+            fakeJiraServer.ifAvailable(server -> report.append(System.lineSeparator())
+                    .append("  Fake JIRA requests: ").append(new TreeMap<>(server.getRequestCounts())));
+            logger.info(report.toString());
+        } catch (Exception e) {
+            logger.error("Load test failed: ", e);
+            exitCode = 1;
+        }
+
+        if (exitWhenDone) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(applicationContext, () -> code));
+        }
+    }
+
+    private ScenarioResult drive(String name, Call call, List<String> tokens, int requests, int seconds)
+            throws InterruptedException {
+        int capacity = seconds > 0 ? 1_000_000 : requests;
+        ScenarioResult result = new ScenarioResult(name, capacity);
+        AtomicInteger issued = new AtomicInteger();
+        AtomicLong sequence = new AtomicLong();
+        long deadline = seconds > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds) : Long.MAX_VALUE;
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int c = 0; c < concurrency; c++) {
+            String token = tokens.get(c % tokens.size());
+            workers.add(clients.submit(() -> {
+                while (seconds > 0 ? System.nanoTime() < deadline : issued.getAndIncrement() < requests) {
+                    long begin = System.nanoTime();
+                    try {
+                        int status = call.execute(token, (int) sequence.incrementAndGet());
+                        result.record(System.nanoTime() - begin, String.valueOf(status), status < 400);
+                    } catch (Exception e) {
+                        result.record(System.nanoTime() - begin, e.getClass().getSimpleName(), false);
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            try {
+                worker.get();
+            } catch (Exception e) {
+                logger.warn("Load test client failed: {}", e.getMessage());
+            }
+        }
+        result.wallNanos = System.nanoTime() - start;
+        clients.shutdownNow();
+        return result;
+    }
+
+    private Call scenario(String name) {
+        return switch (name) {
+            case "issues" -> (token, sequence) -> {
+                HttpResponse<InputStream> response = httpClient.send(
+                        request("/projects/" + projectKey + "/issues?pageSize=" + issuesPageSize, token).GET()
+                                .build(),
+                        HttpResponse.BodyHandlers.ofInputStream());
+                // Drain the streamed body so the whole response is timed
+                try (InputStream body = response.body()) {
+                    body.transferTo(OutputStreamSink.INSTANCE);
+                }
+                return response.statusCode();
+            };
+            case "create" -> (token, sequence) -> {
+                String json = objectMapper.writeValueAsString(Map.of(
+                        "summary", "Load test issue " + sequence,
+                        "description", "Created by the load test harness",
+                        "issueTypeName", "Task",
+                        "priorityName", "Medium"));
+                return httpClient.send(request("/projects/" + projectKey + "/issues", token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json))
+                        .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            };
+            case "bulk" -> (token, sequence) -> {
+                // Every upload is a distinct workbook, so resumable imports do not skip its rows
+                String boundary = "loadtest-" + UUID.randomUUID();
+                byte[] body = multipart(boundary, workbook(sequence));
+                return httpClient.send(request("/projects/" + projectKey + "/issues/bulk", token)
+                        .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            };
+            default -> null;
+        };
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(requestTimeoutSeconds))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    /**
+     * Signs up the load test users, each on its own fake Atlassian domain so
+     * per-domain limits apply per user
+     */
+    private List<String> signUpUsers() throws IOException, InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 1; i <= Math.max(1, userCount); i++) {
+            String json = objectMapper.writeValueAsString(Map.of(
+                    "username", "loadtest-" + run + "-" + i,
+                    "password", "loadtest-" + run,
+                    "email", "loadtest" + i + "@tenant" + i + ".example.com",
+                    "token", "fake-jira-token"));
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/signup"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            JsonNode body = objectMapper.readTree(response.body());
+            if (response.statusCode() >= 400 || !body.hasNonNull("token")) {
+                throw new IllegalStateException("Signing up load test user failed: " + response.body());
+            }
+            tokens.add(body.get("token").asText());
+        }
+        return tokens;
+    }
+
+    private byte[] workbook(int sequence) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Issues");
+            Row header = sheet.createRow(0);
+            String[] columns = { "Summary", "Description", "Issue Type", "Priority", "Labels" };
+            for (int c = 0; c < columns.length; c++) {
+                header.createCell(c).setCellValue(columns[c]);
+            }
+            for (int r = 1; r <= bulkRows; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("Load test upload " + sequence + " row " + r);
+                row.createCell(1).setCellValue("Generated by the load test harness");
+                row.createCell(2).setCellValue(r % 2 == 0 ? "Task" : "Bug");
+                row.createCell(3).setCellValue("Medium");
+                row.createCell(4).setCellValue("loadtest");
+            }
+            workbook.write(out);
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] multipart(String boundary, byte[] workbook) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(workbook.length + 512);
+        body.write(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"loadtest.xlsx\"\r\n"
+                + "Content-Type: " + XLSX_TYPE + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.write(workbook);
+        body.write(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    // Discards streamed response bodies
+    private static final class OutputStreamSink extends java.io.OutputStream {
+        private static final OutputStreamSink INSTANCE = new OutputStreamSink();
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
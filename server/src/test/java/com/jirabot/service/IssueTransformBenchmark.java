@@ -0,0 +1,169 @@
+package com.jirabot.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jirabot.service.JiraIssueStreamTransformer.IssuePage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming issue transform ({@link JiraIssueStreamTransformer})
+ * with the Map-tree transform it replaced, from a raw JIRA search page to the
+ * serialized response. Not part of the test phase; run it with
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *     com.jirabot.service.IssueTransformBenchmark
+ * </pre>
+ * The GC profiler reports the allocation per operation as
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IssueTransformBenchmark {
+
+    @Param({ "50", "100" })
+    private int issues;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JiraIssueStreamTransformer transformer;
+    private byte[] page;
+
+    @Setup
+    public void setUp() throws IOException {
+        transformer = new JiraIssueStreamTransformer(objectMapper);
+        page = objectMapper.writeValueAsBytes(searchPage(issues));
+    }
+
+    @Benchmark
+    public byte[] streamingTransform() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(page.length);
+        IssuePage issuePage = transformer.scan(page);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("expand", issuePage.getExpand());
+            generator.writeNumberField("startAt", issuePage.getStartAt());
+            generator.writeFieldName("issues");
+            generator.writeStartArray();
+            transformer.writeIssues(issuePage, generator);
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] mapTreeTransform() throws IOException {
+        Map<String, Object> response = objectMapper.readValue(page, new TypeReference<Map<String, Object>>() {
+        });
+        return objectMapper.writeValueAsBytes(mapTreeTransform(response));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IssueTransformBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    /**
+     * The transform the issue endpoint used before it streamed: the whole
+     * search page as a Map tree, copied into a second tree with the fields
+     * flattened
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> mapTreeTransform(Map<String, Object> responseMap) {
+        Map<String, Object> transformedResponse = new HashMap<>();
+        transformedResponse.put("expand", responseMap.get("expand"));
+        transformedResponse.put("startAt", responseMap.get("startAt"));
+        transformedResponse.put("maxResults", responseMap.get("maxResults"));
+        transformedResponse.put("total", responseMap.get("total"));
+
+        List<Map<String, Object>> transformedIssues = new ArrayList<>();
+        if (responseMap.get("issues") instanceof List) {
+            for (Map<String, Object> issue : (List<Map<String, Object>>) responseMap.get("issues")) {
+                Map<String, Object> transformedIssue = new HashMap<>();
+                transformedIssue.put("id", issue.get("id"));
+                transformedIssue.put("key", issue.get("key"));
+                transformedIssue.put("self", issue.get("self"));
+                if (issue.get("fields") instanceof Map) {
+                    Map<String, Object> fields = (Map<String, Object>) issue.get("fields");
+                    transformedIssue.put("summary", fields.get("summary"));
+                    transformedIssue.put("status", fields.get("status"));
+                    transformedIssue.put("priority", fields.get("priority"));
+                    transformedIssue.put("assignee", fields.get("assignee"));
+                    transformedIssue.put("created", fields.get("created"));
+                    transformedIssue.put("updated", fields.get("updated"));
+                    transformedIssue.put("issueType", fields.get("issuetype"));
+                    transformedIssue.put("labels", fields.get("labels"));
+                }
+                transformedIssues.add(transformedIssue);
+            }
+        }
+        transformedResponse.put("issues", transformedIssues);
+        return transformedResponse;
+    }
+
+    // A search page shaped like JIRA's: paging fields before the issues, nested objects for each field
+    private static Map<String, Object> searchPage(int issueCount) {
+        List<Map<String, Object>> issues = new ArrayList<>();
+        for (int i = 1; i <= issueCount; i++) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("summary", "Interface " + i + " for the order to cash flow, with a longer summary text");
+            fields.put("status", Map.of("self", "https://acme.atlassian.net/rest/api/3/status/3", "name",
+                    "In Progress", "id", "3", "statusCategory", Map.of("id", 4, "key", "indeterminate", "name",
+                            "In Progress", "colorName", "yellow")));
+            fields.put("priority", Map.of("self", "https://acme.atlassian.net/rest/api/3/priority/3", "name",
+                    "Medium", "id", "3"));
+            fields.put("assignee", Map.of("accountId", "5b10ac8d82e05b22cc7d4ef5", "displayName", "Jane Doe",
+                    "emailAddress", "jane@acme.example.com", "active", true));
+            fields.put("created", "2024-03-01T10:15:30.000+0000");
+            fields.put("updated", "2024-03-02T11:20:00.000+0000");
+            fields.put("issuetype", Map.of("self", "https://acme.atlassian.net/rest/api/3/issuetype/10001", "id",
+                    "10001", "name", "Task", "subtask", false));
+            fields.put("labels", List.of("RICEFW-I", "wave-2"));
+
+            Map<String, Object> issue = new LinkedHashMap<>();
+            issue.put("id", String.valueOf(10000 + i));
+            issue.put("key", "ABC-" + i);
+            issue.put("self", "https://acme.atlassian.net/rest/api/3/issue/" + (10000 + i));
+            issue.put("expand", "operations,versionedRepresentations,editmeta,changelog,renderedFields");
+            issue.put("fields", fields);
+            issues.add(issue);
+        }
+        Map<String, Object> page = new LinkedHashMap<>();
+        page.put("expand", "schema,names");
+        page.put("startAt", 0);
+        page.put("maxResults", issueCount);
+        page.put("total", issueCount * 4);
+        page.put("issues", issues);
+        return page;
+    }
+}
@@ -0,0 +1,73 @@
+package com.jirabot.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class JiraRateLimiterTest {
+
+    private static final String ISSUE_URL = "https://acme.atlassian.net/rest/api/3/issue/ABC-1";
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        JiraRateLimiter rateLimiter = new JiraRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimiter, "initialRate", 100.0);
+        ReflectionTestUtils.setField(rateLimiter, "minRate", 1.0);
+        ReflectionTestUtils.setField(rateLimiter, "maxRate", 100.0);
+        ReflectionTestUtils.setField(rateLimiter, "burst", 10.0);
+        ReflectionTestUtils.setField(rateLimiter, "increaseStep", 0.5);
+        ReflectionTestUtils.setField(rateLimiter, "decreaseFactor", 0.5);
+        ReflectionTestUtils.setField(rateLimiter, "maxRetries", 3);
+        ReflectionTestUtils.setField(rateLimiter, "baseBackoffMs", 1L);
+        ReflectionTestUtils.setField(rateLimiter, "maxBackoffMs", 10L);
+
+        JiraCallMetrics callMetrics = new JiraCallMetrics();
+        ReflectionTestUtils.setField(callMetrics, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(callMetrics, "enabled", true);
+
+        restTemplate = new RestTemplate();
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+        restTemplate.getInterceptors().add(rateLimiter.retrying(callMetrics));
+    }
+
+    @Test
+    void recordsEveryAttemptOfARetriedCall() {
+        HttpHeaders retryAfter = new HttpHeaders();
+        retryAfter.set(HttpHeaders.RETRY_AFTER, "0");
+        server.expect(once(), requestTo(ISSUE_URL)).andExpect(method(HttpMethod.GET))
+                .andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS).headers(retryAfter));
+        server.expect(once(), requestTo(ISSUE_URL)).andExpect(method(HttpMethod.GET))
+                .andRespond(withSuccess());
+
+        ResponseEntity<String> response = restTemplate.getForEntity(ISSUE_URL, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        server.verify();
+        assertThat(meterRegistry.get("jira.client.requests").timers().stream().mapToLong(Timer::count).sum())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get("jira.client.requests").tag("status", "429").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("jira.client.requests").tag("status", "200").timer().count()).isEqualTo(1);
+    }
+}